@@ -10,6 +10,7 @@ plugins {
 	id("nu.studer.jooq") version "5.0.2"
     id("com.diffplug.spotless") version "5.5.1"
     id("com.apollographql.apollo") version("2.3.1")
+    id("me.champeau.gradle.jmh") version "0.5.2"
 }
 
 group = "com.hstar"
@@ -23,6 +24,7 @@ repositories {
 
 dependencies {
     implementation("com.graphql-java-kickstart:graphql-spring-boot-starter:5.11.1")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-amqp")
 	implementation("org.springframework.boot:spring-boot-starter-data-redis")
 	implementation("org.springframework.boot:spring-boot-starter-jooq")
@@ -31,6 +33,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
     implementation("com.fasterxml.jackson.module:jackson-module-kotlin")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("org.msgpack:jackson-dataformat-msgpack:0.8.21")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 	implementation("org.flywaydb:flyway-core")
 	implementation("org.jetbrains.kotlin:kotlin-reflect")
     implementation("org.jetbrains.kotlin:kotlin-stdlib-jdk8")
@@ -40,11 +45,17 @@ dependencies {
     implementation("com.apollographql.apollo:apollo-coroutines-support:2.3.1")
     implementation("com.konghq:unirest-java:3.10.00")
     implementation("com.squareup.moshi:moshi:1.11.0")
+    implementation("com.squareup.moshi:moshi-adapters:1.11.0")
+    implementation("io.micrometer:micrometer-registry-prometheus")
     kapt("com.squareup.moshi:moshi-kotlin-codegen:1.11.0")
 
     developmentOnly("org.springframework.boot:spring-boot-devtools")
 
-    runtimeOnly("org.postgresql:postgresql")
+    // compile scope for the COPY api used by bulk inserts
+    implementation("org.postgresql:postgresql")
+    // non-blocking driver behind ReactiveDatabase
+    implementation("io.r2dbc:r2dbc-postgresql")
+    implementation("io.r2dbc:r2dbc-pool")
     jooqGenerator("org.postgresql:postgresql:42.2.14")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test") {
@@ -72,6 +83,12 @@ jooq {
                     database.apply {
                         name = "org.jooq.meta.postgres.PostgresDatabase"
                         inputSchema = "public"
+                        // monthly partitions of "Activity" are created at runtime, only the parent is queried
+                        excludes = "Activity_.*"
+                        forcedTypes.add(org.jooq.meta.jaxb.ForcedType()
+                            .withUserType("com.hstar.crylic.model.ProjectMetadata")
+                            .withConverter("com.hstar.crylic.db.ProjectMetadataConverter")
+                            .withIncludeExpression("public\\.Project\\.metadata"))
                     }
                     generate.apply {
                         isDeprecated = false
@@ -93,6 +110,27 @@ jooq {
 // remove the default automatic jooq generation
 //project.tasks.getByName("compileJava").dependsOn.remove("generateDefaultJooqSchemaSource")
 
+// bind graphql resolvers with generated data fetchers rather than graphql-java-tools' reflection
+val generateGraphQLWiring by tasks.registering(GenerateGraphQLWiring::class) {
+    schema.set(file("src/main/resources/qlschema/sqapi.graphqls"))
+    packageName.set("com.hstar.crylic.graphql.server")
+    rootResolvers.set(mapOf("Query" to "Query", "Mutation" to "Mutation"))
+    fieldResolvers.set(mapOf("AccountNode.projects" to "UserResolver"))
+    sourceTypes.set(mapOf(
+        "AccountNode" to "com.hstar.crylic.db.generated.tables.pojos.User",
+        "Github" to "Github",
+        "GithubProject" to "GithubProject",
+        "PageInfo" to "PageInfo",
+        "ProjectConnection" to "ProjectConnection",
+        "ProjectEdge" to "ProjectEdge",
+        "ProjectNode" to "com.hstar.crylic.db.generated.tables.pojos.Project"
+    ))
+    inputTypes.set(mapOf("ProjectInput" to "com.hstar.crylic.model.ProjectInput"))
+    scalarTypes.set(mapOf("uuid" to "String"))
+    outputDir.set(file("$buildDir/generated/source/graphqlWiring"))
+}
+kotlin.sourceSets["main"].kotlin.srcDir(generateGraphQLWiring.map { it.outputDir })
+
 // instruct the compiler to generate Kotlin models
 apollo {
     generateKotlinModels.set(true)
@@ -105,11 +143,17 @@ spotless {
     }
 }
 
+jmh {
+    jmhVersion = "1.25"
+    fork = 1
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
 tasks.withType<KotlinCompile> {
+	dependsOn(generateGraphQLWiring)
 	kotlinOptions {
 		freeCompilerArgs = listOf("-Xjsr305=strict")
 		jvmTarget = "11"
@@ -0,0 +1,50 @@
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Writes GeneratedWiring.kt for the backend's graphql schema, see [GraphQLWiringGenerator].
+ */
+abstract class GenerateGraphQLWiring : DefaultTask() {
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.NONE)
+    abstract val schema: RegularFileProperty
+
+    @get:Input
+    abstract val packageName: Property<String>
+
+    @get:Input
+    abstract val rootResolvers: MapProperty<String, String>
+
+    @get:Input
+    abstract val fieldResolvers: MapProperty<String, String>
+
+    @get:Input
+    abstract val sourceTypes: MapProperty<String, String>
+
+    @get:Input
+    abstract val inputTypes: MapProperty<String, String>
+
+    @get:Input
+    abstract val scalarTypes: MapProperty<String, String>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        val generator = GraphQLWiringGenerator(packageName.get(), rootResolvers.get(), fieldResolvers.get(), sourceTypes.get(),
+                inputTypes.get(), scalarTypes.get())
+        val dir = outputDir.get().asFile.resolve(packageName.get().replace('.', '/'))
+        dir.mkdirs()
+        dir.resolve("GeneratedWiring.kt").writeText(generator.generate(schema.get().asFile.readText()))
+    }
+}
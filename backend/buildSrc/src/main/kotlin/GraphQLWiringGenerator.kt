@@ -0,0 +1,140 @@
+import graphql.language.InputObjectTypeDefinition
+import graphql.language.ListType
+import graphql.language.NonNullType
+import graphql.language.ObjectTypeDefinition
+import graphql.language.Type
+import graphql.language.TypeName
+import graphql.parser.Parser
+import java.util.ArrayDeque
+
+private val KOTLIN_KEYWORDS = setOf("as", "break", "class", "continue", "do", "else", "false", "for", "fun", "if", "in",
+        "interface", "is", "null", "object", "package", "return", "super", "this", "throw", "true", "try", "typealias",
+        "typeof", "val", "var", "when", "while")
+private val BUILT_IN_SCALARS = mapOf("String" to "String", "Int" to "Int", "Float" to "Double", "Boolean" to "Boolean", "ID" to "String")
+
+/**
+ * Emits explicit DataFetcher wiring for a graphql schema, so resolvers are bound by plain calls
+ * instead of being discovered through reflection at startup and invoked reflectively per field.
+ *
+ * Root type fields call the resolver method of the same name with the field arguments in schema order,
+ * fields listed in [fieldResolvers] call the resolver with the parent object first,
+ * every other field is read as a property of the type's source class.
+ * Input object arguments are converted to their [inputTypes] class through generated constructor calls.
+ */
+class GraphQLWiringGenerator(
+    private val packageName: String,
+    // root type name -> resolver class
+    private val rootResolvers: Map<String, String>,
+    // "Type.field" -> resolver class
+    private val fieldResolvers: Map<String, String>,
+    // type name -> class backing it, either a simple name in the target package or fully qualified
+    private val sourceTypes: Map<String, String>,
+    // input type name -> class constructed from it, named the same way, its properties match the input fields
+    private val inputTypes: Map<String, String>,
+    // custom scalar name -> kotlin type its values are coerced to
+    private val scalarTypes: Map<String, String>
+) {
+    fun generate(schema: String): String {
+        val document = Parser().parseDocument(schema)
+        val types = document.getDefinitionsOfType(ObjectTypeDefinition::class.java)
+                .groupBy { it.name }
+                .toSortedMap()
+        val inputDefinitions = document.getDefinitionsOfType(InputObjectTypeDefinition::class.java).associateBy { it.name }
+        val usedInputs = sortedSetOf<String>()
+        val resolvers = (rootResolvers.values + fieldResolvers.values).distinct().sorted()
+        val imports = sortedSetOf("graphql.schema.DataFetcher", "graphql.schema.idl.RuntimeWiring", "graphql.schema.idl.TypeRuntimeWiring")
+
+        val body = StringBuilder()
+        types.forEach { (typeName, definitions) ->
+            body.append("        .type(TypeRuntimeWiring.newTypeWiring(\"$typeName\")\n")
+            definitions.flatMap { it.fieldDefinitions }.forEach { field ->
+                val args = field.inputValueDefinitions.map {
+                    // plain arguments are left to type inference against the resolver's parameters
+                    if (inputTypeNames(it.type).isEmpty()) "it.getArgument(\"${it.name}\")"
+                    else convert("it.getArgument<Any?>(\"${it.name}\")", it.type, usedInputs)
+                }
+                val rootResolver = rootResolvers[typeName]
+                val fieldResolver = fieldResolvers["$typeName.${field.name}"]
+                val fetcher = when {
+                    rootResolver != null ->
+                        "DataFetcher { ${param(rootResolver)}.${identifier(field.name)}(${args.joinToString(", ")}) }"
+                    fieldResolver != null ->
+                        "DataFetcher { ${param(fieldResolver)}.${identifier(field.name)}(${(listOf("it.getSource()") + args).joinToString(", ")}) }"
+                    else -> {
+                        val source = sourceTypes[typeName] ?: throw IllegalArgumentException("No source type for graphql type $typeName")
+                        require(args.isEmpty()) { "$typeName.${field.name} takes arguments but has no resolver" }
+                        imports.add("graphql.TrivialDataFetcher")
+                        if (source.contains('.')) imports.add(source)
+                        "TrivialDataFetcher { it.getSource<${source.substringAfterLast('.')}>().${identifier(field.name)} }"
+                    }
+                }
+                body.append("            .dataFetcher(\"${field.name}\", $fetcher)\n")
+            }
+            body.setLength(body.length - 1)
+            body.append(")\n")
+        }
+        body.setLength(body.length - 1)
+
+        val converters = StringBuilder()
+        val pending = ArrayDeque(usedInputs)
+        val generated = HashSet<String>()
+        while (pending.isNotEmpty()) {
+            val name = pending.removeFirst()
+            if (!generated.add(name)) continue
+            val definition = inputDefinitions[name] ?: throw IllegalArgumentException("Unknown input type $name")
+            val cls = inputTypes.getValue(name)
+            if (cls.contains('.')) imports.add(cls)
+            val nested = sortedSetOf<String>()
+            val fields = definition.inputValueDefinitions.joinToString(",\n") {
+                "        ${identifier(it.name)} = ${convert("value[\"${it.name}\"]", it.type, nested)}"
+            }
+            pending.addAll(nested)
+            converters.append("\n\n    private fun ${converterName(name)}(value: Map<*, *>) = ${cls.substringAfterLast('.')}(\n$fields\n    )")
+        }
+
+        return """
+            |// generated by generateGraphQLWiring from the graphql schema, do not edit
+            |package $packageName
+            |
+            |${imports.joinToString("\n|") { "import $it" }}
+            |
+            |object GeneratedWiring {
+            |    fun runtimeWiring(
+            |        ${resolvers.joinToString(",\n|        ") { "${param(it)}: $it" }}
+            |    ): RuntimeWiring.Builder = RuntimeWiring.newRuntimeWiring()
+            |$body$converters
+            |}
+            |""".trimMargin()
+    }
+
+    // expression converting a raw graphql-java value (maps for input objects, lists, coerced scalars) to its kotlin type
+    private fun convert(expr: String, type: Type<*>, usedInputs: MutableSet<String>, nonNull: Boolean = false, depth: Int = 0): String = when (type) {
+        is NonNullType -> convert(expr, type.type, usedInputs, true, depth)
+        is ListType -> {
+            val element = convert("e$depth", type.type, usedInputs, false, depth + 1)
+            if (nonNull) "($expr as List<*>).map { e$depth -> $element }" else "($expr as List<*>?)?.map { e$depth -> $element }"
+        }
+        else -> {
+            val name = (type as TypeName).name
+            if (name in inputTypes) {
+                usedInputs.add(name)
+                if (nonNull) "${converterName(name)}($expr as Map<*, *>)" else "($expr as Map<*, *>?)?.let { ${converterName(name)}(it) }"
+            } else {
+                val scalar = BUILT_IN_SCALARS[name] ?: scalarTypes[name] ?: throw IllegalArgumentException("No kotlin type for graphql type $name")
+                if (nonNull) "$expr as $scalar" else "$expr as $scalar?"
+            }
+        }
+    }
+
+    private fun inputTypeNames(type: Type<*>): List<String> = when (type) {
+        is NonNullType -> inputTypeNames(type.type)
+        is ListType -> inputTypeNames(type.type)
+        else -> listOfNotNull((type as TypeName).name.takeIf { it in inputTypes })
+    }
+
+    private fun converterName(inputType: String) = "to$inputType"
+
+    private fun param(resolver: String) = resolver.decapitalize()
+
+    private fun identifier(name: String) = if (name in KOTLIN_KEYWORDS) "`$name`" else name
+}
@@ -0,0 +1,113 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.Integration
+import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.db.generated.tables.pojos.User
+import com.hstar.crylic.model.GithubProjectMetadata
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.*
+import java.util.concurrent.TimeUnit
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.jooq.impl.DefaultConfiguration
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * The fixed lookups behind login, getProject and getIntegration, built and rendered by jOOQ on every call against [PreparedQuery].
+ * render* only produce the SQL and binds without executing, the cost jOOQ adds per call on the app side.
+ * The others run the lookup on one connection, prepareThreshold 0 has postgres parse and plan every execution (pgbench -M extended),
+ * 5 is the driver's default and server-side prepares a statement from its fifth use (pgbench -M prepared).
+ * Needs a migrated database, CRYLIC_BENCH_DB (jdbc url, default jdbc:postgresql://localhost:5432/crylic) with the default credentials.
+ *
+ * ./gradlew jmh -Pjmh.includes=PreparedQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+open class PreparedQueryBenchmark {
+    @Param("0", "5")
+    var prepareThreshold = 0
+
+    private lateinit var connection: Connection
+    private lateinit var dsl: DSLContext
+    private lateinit var queries: PreparedQueries
+    private val userId = UUID.randomUUID()
+    private val projectId = UUID.randomUUID()
+    private val email = "bench-$userId@crylic.io"
+
+    @Setup(Level.Trial)
+    fun setup() {
+        val url = System.getenv("CRYLIC_BENCH_DB") ?: "jdbc:postgresql://localhost:5432/crylic"
+        connection = DriverManager.getConnection(url, Properties().apply {
+            setProperty("user", "root")
+            setProperty("password", "admin")
+            setProperty("prepareThreshold", prepareThreshold.toString())
+        })
+        dsl = DSL.using(DefaultConfiguration().set(SQLDialect.POSTGRES).set(connection).set(CompiledRecordMapperProvider()))
+        queries = PreparedQueries(dsl)
+
+        dsl.insertInto(Tables.USER).columns(Tables.USER.ID, Tables.USER.EMAIL, Tables.USER.PASSWORD, Tables.USER.FIRST_NAME, Tables.USER.LAST_NAME)
+                .values(userId, email, "", "Bench", "User")
+                .execute()
+        dsl.insertInto(Tables.PROJECT).columns(Tables.PROJECT.ID, Tables.PROJECT.OWNER_ID, Tables.PROJECT.NAME, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA)
+                .values(projectId, userId, "project", "github", GithubProjectMetadata("https://github.com/crylic/project"))
+                .execute()
+        dsl.insertInto(Tables.INTEGRATION).columns(Tables.INTEGRATION.USER_ID, Tables.INTEGRATION.TYPE, Tables.INTEGRATION.TOKEN)
+                .values(userId, "github", "token")
+                .execute()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        dsl.deleteFrom(Tables.INTEGRATION).where(Tables.INTEGRATION.USER_ID.eq(userId)).execute()
+        dsl.deleteFrom(Tables.PROJECT).where(Tables.PROJECT.OWNER_ID.eq(userId)).execute()
+        dsl.deleteFrom(Tables.USER).where(Tables.USER.ID.eq(userId)).execute()
+        connection.close()
+    }
+
+    // the queries as the services wrote them before PreparedQueries
+    private fun userQuery() = dsl.selectFrom(Tables.USER.where(Tables.USER.EMAIL.eq(email)))
+    private fun projectQuery() = dsl.selectFrom(Tables.PROJECT.where(Tables.PROJECT.ID.eq(projectId)))
+    private fun integrationQuery() = dsl.selectFrom(Tables.INTEGRATION).where(Tables.INTEGRATION.USER_ID.eq(userId), Tables.INTEGRATION.TYPE.eq("github"))
+
+    @Benchmark
+    fun renderJooq(): Int = dsl.render(integrationQuery()).length
+
+    @Benchmark
+    fun renderPrepared(): Int =
+            dsl.render(dsl.resultQuery(queries.integrationByUserAndType.sql, DSL.`val`(userId), DSL.`val`("github"))).length
+
+    @Benchmark
+    fun loginJooq(): User? = userQuery().fetchAny()?.into(User::class.java)
+
+    @Benchmark
+    fun loginPrepared(): User? = queries.userByEmail.fetch(dsl, email).firstOrNull()?.into(User::class.java)
+
+    @Benchmark
+    fun projectJooq(): Project? = projectQuery().fetchAny()?.into(Project::class.java)
+
+    @Benchmark
+    fun projectPrepared(): Project? = queries.projectById.fetch(dsl, projectId).firstOrNull()?.into(Project::class.java)
+
+    @Benchmark
+    fun integrationJooq(): Integration? = integrationQuery().fetchOne()?.into(Integration::class.java)
+
+    @Benchmark
+    fun integrationPrepared(): Integration? = queries.integrationByUserAndType.fetch(dsl, userId, "github").firstOrNull()?.into(Integration::class.java)
+}
@@ -0,0 +1,124 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.model.GithubProjectMetadata
+import com.zaxxer.hikari.HikariConfig
+import com.zaxxer.hikari.HikariDataSource
+import io.r2dbc.pool.ConnectionPool
+import io.r2dbc.pool.ConnectionPoolConfiguration
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider
+import io.r2dbc.spi.ConnectionFactories
+import io.r2dbc.spi.ConnectionFactoryOptions
+import java.lang.management.ManagementFactory
+import java.util.*
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.jooq.Configuration
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.jooq.impl.DefaultConfiguration
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import reactor.core.publisher.Flux
+
+// tomcat's default max threads, the most blocking requests that can be in flight at once
+private const val REQUEST_THREADS = 200
+private const val PROJECTS = 50
+private const val PAGE_SIZE = 21
+
+/**
+ * Time for a burst of concurrent project page reads, blocking jdbc calls on request threads against [R2dbcExecutor].
+ * Both paths get a pool of the same size, jdbc additionally needs a thread per in-flight read so bursts above [REQUEST_THREADS] queue,
+ * the peak thread count of each trial is printed during teardown since jmh only reports time.
+ * Needs a migrated database, CRYLIC_BENCH_DB (jdbc url, default jdbc:postgresql://localhost:5432/crylic) with the default credentials.
+ *
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class ReactiveLoadBenchmark {
+    @Param("16", "256", "2048")
+    var concurrency = 0
+    @Param("10")
+    var poolSize = 0
+
+    private lateinit var dataSource: HikariDataSource
+    private lateinit var requestThreads: ExecutorService
+    private lateinit var jdbc: DSLContext
+    private lateinit var pool: ConnectionPool
+    private lateinit var r2dbc: R2dbcExecutor
+    private val ownerId = UUID.randomUUID()
+
+    @Setup(Level.Trial)
+    fun setup() {
+        val url = System.getenv("CRYLIC_BENCH_DB") ?: "jdbc:postgresql://localhost:5432/crylic"
+        dataSource = HikariDataSource(HikariConfig().apply {
+            jdbcUrl = url
+            username = "root"
+            password = "admin"
+            maximumPoolSize = poolSize
+        })
+        val configuration: Configuration = DefaultConfiguration().set(SQLDialect.POSTGRES).set(dataSource).set(CompiledRecordMapperProvider())
+        jdbc = DSL.using(configuration)
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS)
+
+        val options = ConnectionFactoryOptions.parse(url.replaceFirst("jdbc:", "r2dbc:")).mutate()
+                .option(ConnectionFactoryOptions.USER, "root")
+                .option(ConnectionFactoryOptions.PASSWORD, "admin")
+                .option(PostgresqlConnectionFactoryProvider.TCP_NODELAY, true)
+                .build()
+        pool = ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options)).maxSize(poolSize).build())
+        r2dbc = R2dbcExecutor(configuration, pool)
+
+        jdbc.insertInto(Tables.USER).columns(Tables.USER.ID, Tables.USER.EMAIL, Tables.USER.PASSWORD, Tables.USER.FIRST_NAME, Tables.USER.LAST_NAME)
+                .values(ownerId, "bench-$ownerId@crylic.io", "", "Bench", "User")
+                .execute()
+        var insert = jdbc.insertInto(Tables.PROJECT).columns(Tables.PROJECT.OWNER_ID, Tables.PROJECT.NAME, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA)
+        repeat(PROJECTS) { insert = insert.values(ownerId, "project-$it", "github", GithubProjectMetadata("https://github.com/crylic/project-$it")) }
+        insert.execute()
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        println("\npeak threads ${ManagementFactory.getThreadMXBean().peakThreadCount}")
+        jdbc.deleteFrom(Tables.PROJECT).where(Tables.PROJECT.OWNER_ID.eq(ownerId)).execute()
+        jdbc.deleteFrom(Tables.USER).where(Tables.USER.ID.eq(ownerId)).execute()
+        requestThreads.shutdownNow()
+        pool.dispose()
+        dataSource.close()
+    }
+
+    // the same first page query UserResolver.projects runs
+    private fun page(dsl: DSLContext) = dsl.selectFrom(Tables.PROJECT)
+            .where(Tables.PROJECT.OWNER_ID.eq(ownerId))
+            .orderBy(Tables.PROJECT.CREATED_AT, Tables.PROJECT.ID)
+            .limit(PAGE_SIZE)
+
+    @Benchmark
+    fun jdbc(): Int = requestThreads.invokeAll((0 until concurrency).map { Callable { page(jdbc).fetchInto(Project::class.java).size } })
+            .sumBy { it.get() }
+
+    @Benchmark
+    fun r2dbc(): Int = Flux.range(0, concurrency)
+            .flatMap({ r2dbc.fetchInto(page(jdbc), Project::class.java).count() }, concurrency)
+            .reduce(0L) { total, rows -> total + rows }
+            .block()!!.toInt()
+}
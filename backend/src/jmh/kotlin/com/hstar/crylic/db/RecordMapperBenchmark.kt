@@ -0,0 +1,72 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.db.generated.tables.records.ProjectRecord
+import com.hstar.crylic.model.GithubProjectMetadata
+import java.time.OffsetDateTime
+import java.util.*
+import java.util.concurrent.TimeUnit
+import org.jooq.Configuration
+import org.jooq.Result
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.jooq.impl.DefaultConfiguration
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * Cost of mapping fetched "Project" rows onto the generated pojo, jOOQ's reflective DefaultRecordMapper against [CompiledRecordMapperProvider].
+ * fetchInto() maps a whole result with one mapper, fetchAny()?.into() looks a mapper up per record.
+ *
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+open class RecordMapperBenchmark {
+    @Param("1", "100", "1000")
+    var rows = 0
+
+    private lateinit var reflective: Result<ProjectRecord>
+    private lateinit var compiled: Result<ProjectRecord>
+
+    @Setup
+    fun setup() {
+        reflective = projects(DefaultConfiguration().set(SQLDialect.POSTGRES))
+        compiled = projects(DefaultConfiguration().set(SQLDialect.POSTGRES).set(CompiledRecordMapperProvider()))
+    }
+
+    private fun projects(configuration: Configuration): Result<ProjectRecord> {
+        val dsl = DSL.using(configuration)
+        val now = OffsetDateTime.now()
+        val result = dsl.newResult(Tables.PROJECT)
+        repeat(rows) {
+            result.add(dsl.newRecord(Tables.PROJECT).values(UUID.randomUUID(), UUID.randomUUID(), "project-$it", "github",
+                    GithubProjectMetadata("https://github.com/crylic/project-$it"), now, now))
+        }
+        return result
+    }
+
+    @Benchmark
+    fun reflectiveResult(): List<Project> = reflective.into(Project::class.java)
+
+    @Benchmark
+    fun compiledResult(): List<Project> = compiled.into(Project::class.java)
+
+    @Benchmark
+    fun reflectivePerRecord(): List<Project> = reflective.map { it.into(Project::class.java) }
+
+    @Benchmark
+    fun compiledPerRecord(): List<Project> = compiled.map { it.into(Project::class.java) }
+}
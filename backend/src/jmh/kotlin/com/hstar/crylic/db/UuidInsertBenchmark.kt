@@ -0,0 +1,87 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.utils.uuidV7
+import java.util.*
+import java.util.concurrent.TimeUnit
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+
+private const val BATCH_SIZE = 1000
+
+private val TABLE = DSL.table(DSL.name("uuid_insert_bench"))
+private val ID = DSL.field(DSL.name("id"), SQLDataType.UUID)
+private val OWNER_ID = DSL.field(DSL.name("owner_id"), SQLDataType.UUID)
+private val NAME = DSL.field(DSL.name("name"), SQLDataType.VARCHAR)
+
+/**
+ * Time to insert [rows] rows keyed by random (v4) or time ordered (v7) uuids, in multi-row inserts of [BATCH_SIZE] like the bulk project path.
+ * The table is shaped like "Project" with its primary key and owner index. It's logged so WAL volume counts towards the time.
+ * Teardown prints the primary key index size, its leaf density and the WAL written, since jmh only reports time.
+ * Needs a database, CRYLIC_BENCH_DB (jdbc url, default jdbc:postgresql://localhost:5432/crylic) with the default credentials.
+ *
+ * ./gradlew jmh -Pjmh.includes=UuidInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+open class UuidInsertBenchmark {
+    @Param("v4", "v7")
+    var version = ""
+    @Param("10000000")
+    var rows = 0
+
+    private lateinit var dsl: DSLContext
+    private lateinit var walStart: String
+
+    @Setup(Level.Trial)
+    fun setup() {
+        val url = System.getenv("CRYLIC_BENCH_DB") ?: "jdbc:postgresql://localhost:5432/crylic"
+        dsl = DSL.using(url, "root", "admin").apply { configuration().set(SQLDialect.POSTGRES) }
+        dsl.dropTableIfExists(TABLE).execute()
+        dsl.execute("CREATE TABLE uuid_insert_bench (id uuid PRIMARY KEY, owner_id uuid NOT NULL, name varchar NOT NULL, created_at timestamptz NOT NULL DEFAULT now())")
+        dsl.execute("CREATE INDEX ON uuid_insert_bench (owner_id, created_at, id)")
+        dsl.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple")
+        dsl.execute("CHECKPOINT")
+        walStart = dsl.fetchValue("SELECT pg_current_wal_lsn()::text") as String
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        val stats = dsl.fetchOne("""
+            SELECT pg_size_pretty(pg_relation_size('uuid_insert_bench_pkey')) AS pkey,
+                   (pgstatindex('uuid_insert_bench_pkey')).avg_leaf_density AS density,
+                   pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_lsn(), '$walStart'::pg_lsn)) AS wal
+        """)
+        println("\n$version: pkey ${stats["pkey"]}, leaf density ${stats["density"]}%, wal ${stats["wal"]}")
+        dsl.dropTableIfExists(TABLE).execute()
+        dsl.close()
+    }
+
+    @Benchmark
+    fun insert() {
+        val next: () -> UUID = if (version == "v7") ::uuidV7 else UUID::randomUUID
+        // a handful of owners so the secondary index sees the same pattern in both runs
+        val owners = List(100) { UUID.randomUUID() }
+        for (batch in 0 until rows / BATCH_SIZE) {
+            var insert = dsl.insertInto(TABLE).columns(ID, OWNER_ID, NAME)
+            repeat(BATCH_SIZE) { insert = insert.values(next(), owners[it % owners.size], "project-$it") }
+            insert.execute()
+        }
+    }
+}
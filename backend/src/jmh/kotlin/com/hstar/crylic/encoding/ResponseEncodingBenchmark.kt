@@ -0,0 +1,63 @@
+package com.hstar.crylic.encoding
+
+import graphql.servlet.core.GraphQLObjectMapper
+import java.util.*
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder
+
+/**
+ * Serialization cost of a me/projects graphql result per response encoding, with the mappers the graphql endpoint uses.
+ * Payload sizes are printed during setup since jmh only reports time.
+ *
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+open class ResponseEncodingBenchmark {
+    @Param("20", "100", "1000")
+    var projects = 0
+
+    private val json = GraphQLObjectMapper.newBuilder().build().jacksonMapper
+    private val encodings = ResponseEncodings(Jackson2ObjectMapperBuilder())
+    private val cbor = encodings.cbor
+    private val msgpack = encodings.msgpack
+    private lateinit var result: Map<String, Any?>
+
+    @Setup
+    fun setup() {
+        val edges = (0 until projects).map {
+            val id = UUID.randomUUID().toString()
+            mapOf("cursor" to Base64.getUrlEncoder().encodeToString("2020-10-01T12:00:00Z|$id".toByteArray()),
+                    "node" to mapOf("id" to id, "name" to "project-$it", "type" to "github"))
+        }
+        result = mapOf("data" to mapOf("me" to mapOf(
+                "id" to UUID.randomUUID().toString(),
+                "email" to "bench@crylic.io",
+                "firstName" to "Bench",
+                "lastName" to "User",
+                "projects" to mapOf("edges" to edges, "pageInfo" to mapOf("hasNextPage" to false, "endCursor" to null)))))
+        println("\njson ${json.writeValueAsBytes(result).size}B, cbor ${cbor.writeValueAsBytes(result).size}B, msgpack ${msgpack.writeValueAsBytes(result).size}B")
+    }
+
+    @Benchmark
+    fun json(): ByteArray = json.writeValueAsBytes(result)
+
+    @Benchmark
+    fun cbor(): ByteArray = cbor.writeValueAsBytes(result)
+
+    @Benchmark
+    fun msgpack(): ByteArray = msgpack.writeValueAsBytes(result)
+}
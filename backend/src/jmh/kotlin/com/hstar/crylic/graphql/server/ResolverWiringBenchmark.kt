@@ -0,0 +1,97 @@
+package com.hstar.crylic.graphql.server
+
+import com.coxautodev.graphql.tools.SchemaParser
+import com.hstar.crylic.CrylicApplication
+import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.db.generated.tables.pojos.User
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.schema.GraphQLSchema
+import java.time.OffsetDateTime
+import java.util.*
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+private const val PAGE_SIZE = 50
+private const val ME_QUERY = """
+    query {
+      me {
+        id email firstName lastName
+        projects(first: $PAGE_SIZE) {
+          edges { cursor node { id name type } }
+          pageInfo { hasNextPage endCursor }
+        }
+      }
+    }
+"""
+
+/**
+ * Compares the generated resolver wiring against graphql-java-tools' reflective wiring,
+ * both for building the schema at startup and for executing a query touching every user and project field.
+ * Resolvers are stubbed so only the graphql dispatch is measured.
+ *
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+open class ResolverWiringBenchmark {
+    private val sdl = javaClass.getResource("/qlschema/sqapi.graphqls").readText()
+    private val application = CrylicApplication()
+    private val uuidScalar = application.uuidScalar()
+
+    private val user = User(UUID.randomUUID(), "bench@crylic.io", "", "Bench", "User", OffsetDateTime.now(), OffsetDateTime.now())
+    private val connection = (0 until PAGE_SIZE)
+            .map { Project(UUID.randomUUID(), user.id, "project-$it", "github", null, OffsetDateTime.now(), OffsetDateTime.now()) }
+            .map { ProjectEdge(it.id.toString(), it) }
+            .let { ProjectConnection(it, PageInfo(false, it.last().cursor)) }
+    private val query = object : Query() {
+        override fun me() = user
+    }
+    private val mutation = Mutation()
+    private val userResolver = object : UserResolver() {
+        override fun projects(user: User, first: Int?, after: String?) = connection
+    }
+
+    private lateinit var reflective: GraphQL
+    private lateinit var generated: GraphQL
+
+    @Setup
+    fun setup() {
+        reflective = GraphQL.newGraphQL(reflectiveSchema()).build()
+        generated = GraphQL.newGraphQL(generatedSchema()).build()
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    fun reflectiveSchema(): GraphQLSchema = SchemaParser.newParser()
+            .schemaString(sdl)
+            .resolvers(query, mutation, userResolver)
+            .scalars(uuidScalar)
+            .build()
+            .makeExecutableSchema()
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    fun generatedSchema(): GraphQLSchema = application.graphQLSchema(query, mutation, userResolver, uuidScalar)
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    fun reflectiveDispatch(): ExecutionResult = reflective.execute(ME_QUERY)
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    fun generatedDispatch(): ExecutionResult = generated.execute(ME_QUERY)
+}
@@ -1,13 +1,28 @@
 package com.hstar.crylic
 
 import com.hstar.crylic.graphql.server.DefaultGraphQLErrorHandler
+import com.hstar.crylic.graphql.server.GeneratedWiring
+import com.hstar.crylic.graphql.server.Mutation
+import com.hstar.crylic.graphql.server.Query
+import com.hstar.crylic.graphql.server.UserResolver
+import com.hstar.crylic.outbox.EVENTS_EXCHANGE
+import com.oembedler.moon.graphql.boot.GraphQLJavaToolsAutoConfiguration
+import graphql.Directives
 import graphql.language.StringValue
 import graphql.schema.Coercing
 import graphql.schema.CoercingParseLiteralException
 import graphql.schema.GraphQLScalarType
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.SchemaGenerator
+import graphql.schema.idl.SchemaParser
+import org.springframework.amqp.core.TopicExchange
 import org.springframework.boot.autoconfigure.SpringBootApplication
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration
 import org.springframework.boot.runApplication
 import org.springframework.context.annotation.Bean
+import org.springframework.core.io.ClassPathResource
+import org.springframework.data.redis.connection.RedisConnectionFactory
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
 
 class GraphqlStringCoercing : Coercing<String, String> {
     override fun serialize(input: Any) = input.toString()
@@ -18,14 +33,33 @@ class GraphqlStringCoercing : Coercing<String, String> {
         )
 }
 
-@SpringBootApplication
+// resolvers are bound by the generated wiring instead of graphql-java-tools' reflective scan,
+// the r2dbc pool is owned by ReactiveDatabase since a ConnectionFactory bean would switch off the jdbc auto-configuration
+@SpringBootApplication(exclude = [GraphQLJavaToolsAutoConfiguration::class, R2dbcAutoConfiguration::class])
 class CrylicApplication {
     @Bean fun errorHandler() = DefaultGraphQLErrorHandler()
 
+    @Bean
+    fun redisMessageListenerContainer(connectionFactory: RedisConnectionFactory) =
+        RedisMessageListenerContainer().apply { setConnectionFactory(connectionFactory) }
+
+    // declared on the broker by spring's RabbitAdmin, events are routed by their type
+    @Bean
+    fun eventsExchange() = TopicExchange(EVENTS_EXCHANGE)
+
     // needed to support uuids from hasura
     @Bean
     fun uuidScalar() = GraphQLScalarType.newScalar()
         .name("uuid").description("UUID").coercing(GraphqlStringCoercing()).build()
+
+    // @defer isn't declared in the sdl, so it's added to the built schema here
+    @Bean
+    fun graphQLSchema(query: Query, mutation: Mutation, userResolver: UserResolver, uuidScalar: GraphQLScalarType): GraphQLSchema {
+        val registry = ClassPathResource("qlschema/sqapi.graphqls").inputStream.reader().use { SchemaParser().parse(it) }
+        val wiring = GeneratedWiring.runtimeWiring(mutation, query, userResolver).scalar(uuidScalar).build()
+        return SchemaGenerator().makeExecutableSchema(registry, wiring)
+            .transform { it.additionalDirective(Directives.DeferDirective) }
+    }
 }
 
 fun main(args: Array<String>) {
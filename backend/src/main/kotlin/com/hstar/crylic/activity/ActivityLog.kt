@@ -0,0 +1,174 @@
+package com.hstar.crylic.activity
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.hstar.crylic.db.bulkInsert
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.utils.uuidV7
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import java.time.OffsetDateTime
+import java.time.ZoneOffset
+import java.util.*
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.jooq.DSLContext
+import org.jooq.JSONB
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+const val LOGIN = "login"
+const val LOGIN_FAILED = "login.failed"
+const val PROJECT_ADDED = "project.added"
+const val INTEGRATION_CHANGED = "integration.changed"
+
+private const val FLUSH_ATTEMPTS = 3
+private val PARTITION_CHECK_INTERVAL = TimeUnit.HOURS.toNanos(1)
+private val PARTITION_RETRY_INTERVAL = TimeUnit.MINUTES.toNanos(1)
+
+private class ActivityEvent(val type: String, val userId: UUID?, val subject: String?, val data: Map<String, Any?>?) {
+    val id = uuidV7()
+    val occurredAt: OffsetDateTime = OffsetDateTime.now(ZoneOffset.UTC)
+    val recordedNanos = System.nanoTime()
+}
+
+/**
+ * Write-behind activity trail in the monthly partitioned "Activity" table, recording an event costs a queue offer on the caller's thread.
+ * Events are buffered in a bounded ring and written by a single flusher in batches, it takes whatever has queued up while the previous batch was written,
+ * lingering up to flush-millis for a batch to fill.
+ * When the buffer is full events are dropped, or with block-when-full the caller waits up to block-timeout-ms for space first.
+ * Events still buffered when the app stops are flushed on shutdown, they're lost if it dies.
+ */
+@Component
+class ActivityLog {
+    private val logger = LoggerFactory.getLogger(ActivityLog::class.java)
+
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.activity.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.activity.buffer-size:10000}")
+    private var bufferSize: Int = 10000
+    @Value("\${crylic.activity.batch-size:1000}")
+    private var batchSize: Int = 1000
+    @Value("\${crylic.activity.flush-millis:200}")
+    private var flushMillis: Long = 200
+    @Value("\${crylic.activity.block-when-full:false}")
+    private var blockWhenFull: Boolean = false
+    @Value("\${crylic.activity.block-timeout-ms:50}")
+    private var blockTimeoutMillis: Long = 50
+
+    private lateinit var buffer: ArrayBlockingQueue<ActivityEvent>
+    private lateinit var flusher: Thread
+    @Volatile
+    private var running = false
+    private var nextPartitionCheck = System.nanoTime()
+    private lateinit var dropped: Counter
+    private lateinit var written: Counter
+    private lateinit var failed: Counter
+    // time from an event being recorded to its batch committing
+    private lateinit var lag: Timer
+    private lateinit var flushes: Timer
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        buffer = ArrayBlockingQueue(bufferSize)
+        meterRegistry.gauge("crylic.activity.buffered", buffer) { it.size.toDouble() }
+        dropped = meterRegistry.counter("crylic.activity.dropped")
+        written = meterRegistry.counter("crylic.activity.written")
+        failed = meterRegistry.counter("crylic.activity.failed")
+        lag = Timer.builder("crylic.activity.flush.lag").publishPercentileHistogram().register(meterRegistry)
+        flushes = meterRegistry.timer("crylic.activity.flush")
+        running = true
+        flusher = Thread(::flushLoop, "activity-flusher").apply { isDaemon = true }
+        flusher.start()
+    }
+
+    @PreDestroy
+    fun stop() {
+        if (!enabled) return
+        running = false
+        flusher.interrupt()
+        flusher.join(TimeUnit.SECONDS.toMillis(10))
+    }
+
+    fun record(type: String, userId: UUID?, subject: String? = null, data: Map<String, Any?>? = null) {
+        if (!enabled) return
+        // data is serialized by the flusher, off the caller's thread
+        val event = ActivityEvent(type, userId, subject, data)
+        val queued = if (blockWhenFull) buffer.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS) else buffer.offer(event)
+        if (!queued) dropped.increment()
+    }
+
+    private fun flushLoop() {
+        val batch = ArrayList<ActivityEvent>(batchSize)
+        while (running) {
+            try {
+                ensurePartitions()
+                val first = buffer.poll(1, TimeUnit.MINUTES) ?: continue
+                batch.add(first)
+                val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis)
+                while (batch.size < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size)
+                    if (batch.size >= batchSize) break
+                    batch.add(buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) ?: break)
+                }
+                flush(batch)
+                batch.clear()
+            } catch (e: InterruptedException) {
+                break
+            }
+        }
+        // shutting down, write out the rest
+        buffer.drainTo(batch)
+        batch.chunked(batchSize).forEach { flush(it) }
+    }
+
+    private fun flush(batch: List<ActivityEvent>) {
+        for (attempt in 1..FLUSH_ATTEMPTS) {
+            try {
+                flushes.record { write(batch) }
+                val now = System.nanoTime()
+                batch.forEach { lag.record(now - it.recordedNanos, TimeUnit.NANOSECONDS) }
+                written.increment(batch.size.toDouble())
+                return
+            } catch (e: Exception) {
+                if (attempt == FLUSH_ATTEMPTS) {
+                    logger.warn("Dropping ${batch.size} activity events after $attempt failed writes", e)
+                    failed.increment(batch.size.toDouble())
+                } else {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(attempt.toLong()))
+                }
+            }
+        }
+    }
+
+    private fun write(batch: List<ActivityEvent>) {
+        val table = Tables.ACTIVITY
+        bulkInsert(dsl, table, listOf(table.ID, table.OCCURRED_AT, table.USER_ID, table.TYPE, table.SUBJECT, table.DATA),
+                batch.map { listOf(it.id, it.occurredAt, it.userId, it.type, it.subject, json(it)?.let { data -> JSONB.valueOf(data) }) })
+    }
+
+    // next month's partition is created well ahead so rows never land in the default partition
+    private fun ensurePartitions() {
+        if (System.nanoTime() - nextPartitionCheck < 0) return
+        try {
+            dsl.execute("SELECT create_activity_partition(now() + interval '1 month')")
+            nextPartitionCheck = System.nanoTime() + PARTITION_CHECK_INTERVAL
+        } catch (e: Exception) {
+            logger.warn("Failed to create the next activity partition", e)
+            nextPartitionCheck = System.nanoTime() + PARTITION_RETRY_INTERVAL
+        }
+    }
+
+    private fun json(event: ActivityEvent) = event.data?.let { objectMapper.writeValueAsString(it) }
+}
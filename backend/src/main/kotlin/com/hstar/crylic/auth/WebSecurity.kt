@@ -26,6 +26,8 @@ class WebSecurity : WebSecurityConfigurerAdapter() {
                 .antMatchers("/auth/jwks").permitAll()
                 .antMatchers("/redirect/github").permitAll()
                 .antMatchers("/graphql").permitAll()
+                .antMatchers("/graphql/schema.graphql").permitAll()
+                .antMatchers("/actuator/**").permitAll() // served on the internal management port
                 .anyRequest().authenticated()
 
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter::class.java)
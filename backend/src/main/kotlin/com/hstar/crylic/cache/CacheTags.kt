@@ -0,0 +1,11 @@
+package com.hstar.crylic.cache
+
+import java.util.*
+
+// entity kinds that cached results can depend on, all data is scoped to the owning user
+const val USER_ENTITY = "user"
+const val PROJECT_ENTITY = "project"
+const val INTEGRATION_ENTITY = "integration"
+val CACHE_ENTITIES = listOf(USER_ENTITY, PROJECT_ENTITY, INTEGRATION_ENTITY)
+
+fun cacheTag(entity: String, userId: UUID) = "$entity:$userId"
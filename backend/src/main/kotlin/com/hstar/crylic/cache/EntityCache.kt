@@ -0,0 +1,143 @@
+package com.hstar.crylic.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.db.generated.Tables
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import javax.annotation.PostConstruct
+import org.jooq.Configuration
+import org.jooq.Converter
+import org.jooq.Field
+import org.jooq.Record
+import org.jooq.Table
+import org.jooq.impl.DSL
+import org.jooq.tools.Convert
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.stereotype.Component
+
+private const val REDIS_ENTITY_PREFIX = "entity:"
+// integrations hold oauth tokens, which mustn't be stored in redis in plaintext
+private val LOCAL_ONLY_TABLES = setOf(Tables.INTEGRATION.name)
+
+/**
+ * Two tier cache of rows as their generated pojos, a bounded in-process tier in front of redis.
+ * Entries are keyed by table name and the key columns the table's notify_entity_change trigger reports, joined by ':'.
+ * [EntityChangeListener] evicts them on every backend instance when the row changes, whoever changed it.
+ * Redis holds each row as its column values in database form, so it round trips through the same converters as a fetch.
+ * Integrations skip redis and live in the in-process tier only.
+ * Absent rows aren't cached, loaders should read the primary so a lagging replica can't refill an evicted entry.
+ */
+@Component
+class EntityCache {
+    private val logger = LoggerFactory.getLogger(EntityCache::class.java)
+
+    @Autowired
+    private lateinit var template: RedisTemplate<String, String>
+    @Autowired
+    private lateinit var configuration: Configuration
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.entity-cache.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.entity-cache.ttl-seconds:300}")
+    private var ttlSeconds: Long = 300
+    @Value("\${crylic.entity-cache.local-max-entries:10000}")
+    private var localMaxEntries: Long = 10000
+
+    private lateinit var local: Cache<String, Any>
+    // bumped by every eviction, a load that overlapped one isn't cached since it may have read the row before the change
+    private val evictions = AtomicLong()
+
+    @PostConstruct
+    fun init() {
+        local = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build()
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "entity")
+    }
+
+    fun <R : Record, P : Any> get(table: Table<R>, key: String, type: Class<P>, load: () -> P?): P? {
+        if (!enabled) return load()
+        val cacheKey = "${table.name}:$key"
+        local.getIfPresent(cacheKey)?.let { return type.cast(it) }
+
+        val epoch = evictions.get()
+        val shared = table.name !in LOCAL_ONLY_TABLES
+        val stored = if (shared) {
+            try {
+                template.opsForValue().get(REDIS_ENTITY_PREFIX + cacheKey)
+            } catch (e: Exception) {
+                logger.warn("Unable to read cached entity", e)
+                null
+            }
+        } else null
+        if (stored != null) {
+            val value = decode(table, stored, type)
+            if (evictions.get() == epoch) local.put(cacheKey, value)
+            return value
+        }
+
+        val value = load() ?: return null
+        if (evictions.get() == epoch) {
+            local.put(cacheKey, value)
+            if (shared) {
+                try {
+                    template.opsForValue().set(REDIS_ENTITY_PREFIX + cacheKey, encode(table, value), Duration.ofSeconds(ttlSeconds))
+                } catch (e: Exception) {
+                    logger.warn("Unable to write cached entity", e)
+                }
+            }
+        }
+        return value
+    }
+
+    fun evict(table: Table<*>, key: String) = evict("${table.name}:$key")
+
+    // cacheKey as sent by the notify_entity_change trigger
+    fun evict(cacheKey: String) {
+        evictions.incrementAndGet()
+        local.invalidate(cacheKey)
+        try {
+            template.delete(REDIS_ENTITY_PREFIX + cacheKey)
+        } catch (e: Exception) {
+            logger.warn("Unable to evict cached entity $cacheKey", e)
+        }
+    }
+
+    // used when changes may have been missed, redis entries are left to expire
+    fun evictAllLocal() {
+        evictions.incrementAndGet()
+        local.invalidateAll()
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun encode(table: Table<*>, value: Any): String {
+        val record = DSL.using(configuration).newRecord(table, value)
+        return objectMapper.writeValueAsString(table.fields().map { field ->
+            (field.converter as Converter<Any?, Any?>).to(record.get(field))?.toString()
+        })
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun <R : Record, P> decode(table: Table<R>, stored: String, type: Class<P>): P {
+        val values = objectMapper.readValue(stored, List::class.java)
+        val record = DSL.using(configuration).newRecord(table)
+        table.fields().forEachIndexed { i, field ->
+            val converter = field.converter as Converter<Any?, Any?>
+            record.set(field as Field<Any?>, converter.from(Convert.convert(values[i], converter.fromType())))
+        }
+        return record.into(type)
+    }
+}
@@ -0,0 +1,29 @@
+package com.hstar.crylic.cache
+
+import com.hstar.crylic.db.PgNotificationListener
+import javax.annotation.PostConstruct
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val CHANNEL = "entity_changed"
+
+/**
+ * Listens for the notify_entity_change trigger and evicts the changed rows from [EntityCache].
+ * The local tier is dropped whenever the listener (re)connects as notifications may have been missed.
+ */
+@Component
+class EntityChangeListener {
+    @Autowired
+    private lateinit var entityCache: EntityCache
+    @Autowired
+    private lateinit var notificationListener: PgNotificationListener
+    @Value("\${crylic.entity-cache.enabled:false}")
+    private var enabled: Boolean = false
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        notificationListener.subscribe(CHANNEL, entityCache::evictAllLocal) { entityCache.evict(it) }
+    }
+}
@@ -0,0 +1,126 @@
+package com.hstar.crylic.cache
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.stereotype.Component
+
+private const val REDIS_RESULT_PREFIX = "gql:result:"
+private const val REDIS_TAG_PREFIX = "gql:tag:"
+private const val REDIS_GENERATION_PREFIX = "gql:generation:"
+private const val REDIS_INVALIDATION_CHANNEL = "gql:invalidate"
+// far longer than any request takes, a generation only has to outlive the executions that read it
+private val GENERATION_TTL = Duration.ofDays(1)
+private const val BODY_FIELD = "body"
+private const val TAGS_FIELD = "tags"
+
+private class CachedResult(val body: String, val tags: Set<String>)
+
+/**
+ * Two tier cache of serialized graphql results, a bounded in-process tier in front of redis.
+ * Entries are tagged with the entities they were built from and dropped from both tiers, on every replica, when a tag is invalidated.
+ * Redis failures are logged and treated as misses so the cache never fails a request.
+ * Each tag has a generation in redis that's bumped by every invalidation, a result is only kept if the generations of its tags are still
+ * those read before it was computed, so a result computed from data a concurrent mutation has since changed isn't cached after the invalidation.
+ */
+@Component
+class ResultCache {
+    private val logger = LoggerFactory.getLogger(ResultCache::class.java)
+
+    @Autowired
+    private lateinit var template: RedisTemplate<String, String>
+    @Autowired
+    private lateinit var listenerContainer: RedisMessageListenerContainer
+    @Value("\${crylic.graphql.result-cache.ttl-seconds:300}")
+    private var ttlSeconds: Long = 300
+    @Value("\${crylic.graphql.result-cache.local-max-entries:10000}")
+    private var localMaxEntries: Long = 10000
+
+    private lateinit var local: Cache<String, CachedResult>
+
+    @PostConstruct
+    fun init() {
+        local = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build()
+        listenerContainer.addMessageListener(MessageListener { message, _ -> evictLocal(String(message.body)) }, ChannelTopic(REDIS_INVALIDATION_CHANNEL))
+    }
+
+    fun get(key: String): String? {
+        local.getIfPresent(key)?.let { return it.body }
+
+        val entry = try {
+            template.opsForHash<String, String>().entries(REDIS_RESULT_PREFIX + key)
+        } catch (e: Exception) {
+            logger.warn("Unable to read cached result", e)
+            return null
+        }
+        val body = entry[BODY_FIELD] ?: return null
+        local.put(key, CachedResult(body, entry[TAGS_FIELD].orEmpty().split(",").toSet()))
+        return body
+    }
+
+    // read before a result is computed and handed to [put] with it, null if redis can't be reached
+    fun generations(tags: Collection<String>): Map<String, Long>? = try {
+        val values = template.opsForValue().multiGet(tags.map { REDIS_GENERATION_PREFIX + it }).orEmpty()
+        tags.withIndex().associate { (i, tag) -> tag to (values.getOrNull(i)?.toLong() ?: 0) }
+    } catch (e: Exception) {
+        logger.warn("Unable to read cache tag generations", e)
+        null
+    }
+
+    fun put(key: String, body: String, tags: Set<String>, generations: Map<String, Long>?) {
+        if (generations == null || !generations.keys.containsAll(tags)) return
+        local.put(key, CachedResult(body, tags))
+
+        val ttl = Duration.ofSeconds(ttlSeconds)
+        try {
+            template.opsForHash<String, String>().putAll(REDIS_RESULT_PREFIX + key, mapOf(BODY_FIELD to body, TAGS_FIELD to tags.joinToString(",")))
+            template.expire(REDIS_RESULT_PREFIX + key, ttl)
+            tags.forEach {
+                template.opsForSet().add(REDIS_TAG_PREFIX + it, key)
+                template.expire(REDIS_TAG_PREFIX + it, ttl)
+            }
+            // checked after the write, an invalidation bumps the generation before it looks up the tag's keys, so one that missed this entry shows here
+            if (generations(tags) != generations.filterKeys { it in tags }) {
+                local.invalidate(key)
+                template.delete(REDIS_RESULT_PREFIX + key)
+            }
+        } catch (e: Exception) {
+            logger.warn("Unable to write cached result", e)
+            local.invalidate(key)
+        }
+    }
+
+    fun invalidate(tag: String) {
+        try {
+            template.opsForValue().increment(REDIS_GENERATION_PREFIX + tag)
+            template.expire(REDIS_GENERATION_PREFIX + tag, GENERATION_TTL)
+        } catch (e: Exception) {
+            logger.warn("Unable to bump the generation of $tag", e)
+        }
+        evictLocal(tag)
+        try {
+            val keys = template.opsForSet().members(REDIS_TAG_PREFIX + tag).orEmpty()
+            template.delete(keys.map { REDIS_RESULT_PREFIX + it } + (REDIS_TAG_PREFIX + tag))
+            // other replicas drop their in-process copies
+            template.convertAndSend(REDIS_INVALIDATION_CHANNEL, tag)
+        } catch (e: Exception) {
+            logger.warn("Unable to invalidate cached results for $tag", e)
+        }
+    }
+
+    private fun evictLocal(tag: String) {
+        local.asMap().entries.removeIf { tag in it.value.tags }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hstar.crylic.controllers
+
+import com.hstar.crylic.model.FileDelta
+import com.hstar.crylic.model.FileSignatures
+import com.hstar.crylic.model.SyncResult
+import com.hstar.crylic.services.FileSyncService
+import com.hstar.crylic.utils.getCurrentUser
+import java.util.*
+import javax.servlet.http.HttpServletResponse
+import javax.validation.ConstraintViolationException
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.HttpStatus
+import org.springframework.web.bind.annotation.*
+
+// delta saves of project files, literal data is base64 in json and raw bytes with msgpack or cbor
+@RestController
+@RequestMapping("/projects/{projectId}/sync")
+class FileSyncController {
+    @Autowired
+    private lateinit var fileSyncService: FileSyncService
+
+    @GetMapping("/signatures")
+    fun signatures(@PathVariable projectId: UUID, @RequestParam path: List<String>): List<FileSignatures> =
+            fileSyncService.signatures(getCurrentUser(), projectId, path)
+
+    @PostMapping
+    fun sync(@PathVariable projectId: UUID, @RequestBody deltas: List<FileDelta>): SyncResult = fileSyncService.sync(getCurrentUser(), projectId, deltas)
+
+    @ExceptionHandler(ConstraintViolationException::class)
+    fun handleConstraintViolation(ex: ConstraintViolationException, res: HttpServletResponse) {
+        res.sendError(HttpStatus.BAD_REQUEST.value())
+    }
+}
@@ -0,0 +1,26 @@
+package com.hstar.crylic.controllers
+
+import com.hstar.crylic.gateway.GatewayRequest
+import com.hstar.crylic.gateway.GatewayService
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.HttpHeaders
+import org.springframework.web.bind.annotation.*
+
+// single graphql endpoint over the backend and hasura, see GatewayService
+@RestController
+@RequestMapping("/gateway")
+class GatewayController {
+    @Autowired
+    private lateinit var gatewayService: GatewayService
+
+    @PostMapping
+    fun execute(
+        @RequestBody body: GatewayRequest,
+        @RequestHeader(HttpHeaders.AUTHORIZATION) authorization: String,
+        @RequestHeader(HttpHeaders.CACHE_CONTROL, required = false) cacheControl: String?,
+        request: HttpServletRequest,
+        response: HttpServletResponse
+    ) = gatewayService.execute(body, authorization, cacheControl?.contains("no-cache") != true, request, response)
+}
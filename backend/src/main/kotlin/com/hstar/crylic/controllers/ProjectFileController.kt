@@ -0,0 +1,65 @@
+package com.hstar.crylic.controllers
+
+import com.hstar.crylic.db.generated.tables.pojos.ProjectFile
+import com.hstar.crylic.services.ProjectFileService
+import com.hstar.crylic.utils.getCurrentUser
+import java.nio.channels.Channels
+import java.util.*
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import javax.validation.ConstraintViolationException
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.util.AntPathMatcher
+import org.springframework.web.bind.annotation.*
+import org.springframework.web.context.request.ServletWebRequest
+import org.springframework.web.server.ResponseStatusException
+import org.springframework.web.servlet.HandlerMapping
+
+@RestController
+@RequestMapping("/projects/{projectId}/files")
+class ProjectFileController {
+    @Autowired
+    private lateinit var projectFileService: ProjectFileService
+
+    @GetMapping
+    fun listFiles(@PathVariable projectId: UUID): List<ProjectFile> = projectFileService.listFiles(getCurrentUser(), projectId)
+
+    // contents keyed by path, base64 encoded as json binary
+    @PutMapping
+    fun saveFiles(@PathVariable projectId: UUID, @RequestBody files: Map<String, ByteArray>): List<ProjectFile> =
+            projectFileService.saveFiles(getCurrentUser(), projectId, files)
+
+    // a blob never changes, so its hash is a strong etag
+    @GetMapping("/**")
+    fun readFile(@PathVariable projectId: UUID, request: HttpServletRequest, response: HttpServletResponse) {
+        val (file, content) = projectFileService.readFile(getCurrentUser(), projectId, filePath(request))
+                ?: throw ResponseStatusException(HttpStatus.NOT_FOUND, "File not found")
+        if (ServletWebRequest(request, response).checkNotModified(file.hash)) return
+        response.contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE
+        response.setContentLengthLong(file.size)
+        // copied out of the mapped blob in small chunks rather than onto the heap whole
+        val out = Channels.newChannel(response.outputStream)
+        while (content.hasRemaining()) out.write(content)
+    }
+
+    @PutMapping("/**")
+    fun saveFile(@PathVariable projectId: UUID, @RequestBody content: ByteArray, request: HttpServletRequest): ProjectFile =
+            projectFileService.saveFile(getCurrentUser(), projectId, filePath(request), content)
+
+    @DeleteMapping("/**")
+    fun deleteFile(@PathVariable projectId: UUID, request: HttpServletRequest) {
+        if (!projectFileService.deleteFile(getCurrentUser(), projectId, filePath(request))) throw ResponseStatusException(HttpStatus.NOT_FOUND, "File not found")
+    }
+
+    @ExceptionHandler(ConstraintViolationException::class)
+    fun handleConstraintViolation(ex: ConstraintViolationException, res: HttpServletResponse) {
+        res.sendError(HttpStatus.BAD_REQUEST.value())
+    }
+
+    // the part of the url matched by /**
+    private fun filePath(request: HttpServletRequest) = AntPathMatcher().extractPathWithinPattern(
+            request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) as String,
+            request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE) as String)
+}
@@ -0,0 +1,49 @@
+package com.hstar.crylic.db
+
+import java.io.StringReader
+import org.jooq.Converter
+import org.jooq.DSLContext
+import org.jooq.Field
+import org.jooq.JSONB
+import org.jooq.Table
+import org.jooq.impl.DSL
+import org.postgresql.PGConnection
+
+// above this many rows COPY beats a multi-row insert, below it the statement setup dominates
+private const val COPY_THRESHOLD = 250
+
+/**
+ * Inserts rows of values for fields, given as the fields' user types, in one round trip on dsl's connection.
+ * Large batches are streamed with COPY as csv, converted to database form through the fields' converters, anything smaller is a multi-row insert.
+ */
+fun bulkInsert(dsl: DSLContext, table: Table<*>, fields: List<Field<*>>, rows: List<List<Any?>>) {
+    if (rows.isEmpty()) return
+    if (rows.size > COPY_THRESHOLD) {
+        @Suppress("UNCHECKED_CAST")
+        val converters = fields.map { it.converter as Converter<Any?, Any?> }
+        val csv = StringBuilder()
+        rows.forEach { row ->
+            row.forEachIndexed { i, value ->
+                if (i > 0) csv.append(',')
+                // an unquoted empty field is null, everything else is quoted
+                when (val converted = converters[i].to(value)) {
+                    null -> {}
+                    is JSONB -> csv.append(csvField(converted.data()))
+                    else -> csv.append(csvField(converted.toString()))
+                }
+            }
+            csv.append('\n')
+        }
+        val columns = fields.joinToString(", ") { dsl.render(DSL.name(it.name)) }
+        dsl.connection { connection ->
+            connection.unwrap(PGConnection::class.java).copyAPI.copyIn(
+                    "COPY ${dsl.render(DSL.name(table.name))} ($columns) FROM STDIN WITH (FORMAT csv)", StringReader(csv.toString()))
+        }
+    } else {
+        var insert = dsl.insertInto(table).columns(fields)
+        rows.forEach { insert = insert.values(it) }
+        insert.execute()
+    }
+}
+
+private fun csvField(value: String) = "\"" + value.replace("\"", "\"\"") + "\""
@@ -0,0 +1,57 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Public
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import org.jooq.Field
+import org.jooq.Record
+import org.jooq.RecordMapper
+import org.jooq.RecordMapperProvider
+import org.jooq.RecordType
+import org.jooq.impl.DefaultRecordMapper
+import org.springframework.stereotype.Component
+
+private val POJO_PACKAGE = Public::class.java.packageName + ".tables.pojos"
+
+/**
+ * Maps records onto the generated immutable pojos through their all-columns constructor, bound once per pojo as a MethodHandle,
+ * instead of jOOQ's DefaultRecordMapper reflecting over the pojo for every into() call.
+ * Picked up by spring boot's jooq configuration, records that don't carry every column of the pojo's table fall back to the default mapper.
+ */
+@Component
+class CompiledRecordMapperProvider : RecordMapperProvider {
+    private class PojoConstructor(val fields: Array<Field<*>>, val handle: MethodHandle)
+
+    private val constructors = object : ClassValue<PojoConstructor?>() {
+        override fun computeValue(type: Class<*>): PojoConstructor? {
+            if (type.packageName != POJO_PACKAGE) return null
+            val table = Public.PUBLIC.tables.find { it.javaClass.simpleName == type.simpleName } ?: return null
+            val fields = table.fields()
+            val constructor = type.constructors.find { c -> c.parameterTypes.map { it.kotlin.javaObjectType }.toList() == fields.map { it.type } } ?: return null
+            val handle = MethodHandles.publicLookup().unreflectConstructor(constructor)
+                    .asSpreader(Array<Any?>::class.java, fields.size)
+                    .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+            return PojoConstructor(fields, handle)
+        }
+    }
+
+    override fun <R : Record, E> provide(recordType: RecordType<R>, type: Class<out E>): RecordMapper<R, E> {
+        val constructor = constructors.get(type) ?: return DefaultRecordMapper(recordType, type)
+        val indexes = IntArray(constructor.fields.size) { i ->
+            val field = constructor.fields[i]
+            // returningResult() and aliased selects give unqualified fields, so fall back to the column name
+            val index = recordType.indexOf(field).takeIf { it >= 0 } ?: recordType.indexOf(field.name)
+            if (index < 0 || recordType.field(index)!!.type != field.type) return DefaultRecordMapper(recordType, type)
+            index
+        }
+        val handle = constructor.handle
+        return RecordMapper { record ->
+            val values = arrayOfNulls<Any?>(indexes.size)
+            for (i in indexes.indices) values[i] = record.get(indexes[i])
+            // kotlin 1.3 calls invokeExact as a plain vararg method, the spread hands the array straight to the (Object[])Object spreader
+            @Suppress("UNCHECKED_CAST")
+            handle.invokeExact(*values) as E
+        }
+    }
+}
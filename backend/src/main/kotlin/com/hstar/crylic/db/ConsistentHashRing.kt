@@ -0,0 +1,24 @@
+package com.hstar.crylic.db
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import java.util.*
+
+private const val VIRTUAL_NODES = 256
+
+/**
+ * Maps keys onto shards so that adding or removing a shard only moves the keys that land on it, about 1/n of them.
+ * Each shard is placed on the ring at [VIRTUAL_NODES] points to keep the split even.
+ */
+class ConsistentHashRing(shards: Collection<String>) {
+    private val ring = TreeMap<Long, String>()
+
+    init {
+        require(shards.isNotEmpty()) { "A hash ring needs at least one shard" }
+        shards.forEach { shard -> repeat(VIRTUAL_NODES) { ring[hash("$shard#$it")] = shard } }
+    }
+
+    fun shardFor(key: UUID): String = (ring.ceilingEntry(hash(key.toString())) ?: ring.firstEntry()).value
+
+    private fun hash(value: String) = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(value.toByteArray())).long
+}
@@ -0,0 +1,72 @@
+package com.hstar.crylic.db
+
+import com.zaxxer.hikari.HikariConfig
+import com.zaxxer.hikari.HikariDataSource
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory
+import io.micrometer.core.instrument.MeterRegistry
+import org.flywaydb.core.Flyway
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
+import org.springframework.boot.context.properties.ConfigurationProperties
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Primary
+
+/**
+ * Read-only connection pools to the postgres replicas, empty when none are configured.
+ */
+class ReplicaDataSources(val pools: List<HikariDataSource>) : AutoCloseable {
+    override fun close() = pools.forEach { it.close() }
+}
+
+/**
+ * Connection pools to the shards other than the primary by shard name, empty when none are configured.
+ */
+class ShardDataSources(val pools: Map<String, HikariDataSource>) : AutoCloseable {
+    override fun close() = pools.values.forEach { it.close() }
+}
+
+@Configuration
+class DataSourceConfiguration {
+    // declared here so the replica pools can be added alongside, this is the same pool spring boot would auto-configure
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    fun dataSource(properties: DataSourceProperties): HikariDataSource =
+            properties.initializeDataSourceBuilder().type(HikariDataSource::class.java).build()
+
+    // replicas share the primary's credentials and pool settings, spring boot's pool metrics only cover the primary bean so they're bound here
+    // the tracker factory is set outright, copyStateTo brings along the primary's and hikari rejects a registry alongside a factory
+    @Bean
+    fun replicaDataSources(primary: HikariDataSource, meterRegistry: MeterRegistry, @Value("\${crylic.datasource.replica-urls:}") urls: List<String>) =
+            ReplicaDataSources(urls.filter { it.isNotBlank() }.mapIndexed { i, url ->
+                val config = HikariConfig()
+                primary.copyStateTo(config)
+                config.jdbcUrl = url.trim()
+                config.poolName = "${primary.poolName ?: "crylic"}-replica-$i"
+                config.isReadOnly = true
+                config.metricsTrackerFactory = MicrometerMetricsTrackerFactory(meterRegistry)
+                HikariDataSource(config)
+            })
+
+    // shards are "name=jdbc url" entries sharing the primary's credentials and pool settings, they're migrated here since flyway only covers the primary
+    @Bean
+    fun shardDataSources(primary: HikariDataSource, meterRegistry: MeterRegistry, flywayProperties: FlywayProperties, @Value("\${crylic.shards:}") shards: List<String>) =
+            ShardDataSources(shards.filter { it.isNotBlank() }.associate { shard ->
+                val (name, url) = shard.split("=", limit = 2).map { it.trim() }
+                val config = HikariConfig()
+                primary.copyStateTo(config)
+                config.jdbcUrl = url
+                config.poolName = "${primary.poolName ?: "crylic"}-shard-$name"
+                config.metricsTrackerFactory = MicrometerMetricsTrackerFactory(meterRegistry)
+                val pool = HikariDataSource(config)
+                Flyway.configure()
+                        .dataSource(pool)
+                        .locations(*flywayProperties.locations.toTypedArray())
+                        .placeholders(flywayProperties.placeholders + ("shard" to name))
+                        .load()
+                        .migrate()
+                name to pool
+            })
+}
@@ -0,0 +1,113 @@
+package com.hstar.crylic.db
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import java.sql.Connection
+import java.sql.SQLException
+import java.util.*
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import javax.annotation.PostConstruct
+import javax.sql.DataSource
+import org.jooq.Configuration
+import org.jooq.ConnectionProvider
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+private const val REDIS_WRITE_CHANNEL = "db:wrote"
+
+// spreads connections over the replicas, skipping any that can't hand one out
+private class RoundRobinConnectionProvider(private val dataSources: List<DataSource>) : ConnectionProvider {
+    private val next = AtomicInteger()
+
+    override fun acquire(): Connection {
+        val start = next.getAndIncrement()
+        var failure: SQLException? = null
+        for (i in dataSources.indices) {
+            try {
+                return dataSources[Math.floorMod(start + i, dataSources.size)].connection
+            } catch (e: SQLException) {
+                failure = failure?.apply { addSuppressed(e) } ?: e
+            }
+        }
+        throw failure!!
+    }
+
+    override fun release(connection: Connection) = connection.close()
+}
+
+/**
+ * Picks the DSLContext a read runs on.
+ * Reads go to the replicas when any are configured, except inside transactions and for users who wrote within the last
+ * crylic.datasource.read-your-writes-seconds, so a user always sees their own changes despite replication lag.
+ * Writes are announced over redis so every backend instance keeps the user on the primary.
+ */
+@Component
+class DatabaseRouter {
+    private val logger = LoggerFactory.getLogger(DatabaseRouter::class.java)
+
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var configuration: Configuration
+    @Autowired
+    private lateinit var replicas: ReplicaDataSources
+    @Autowired
+    private lateinit var template: RedisTemplate<String, String>
+    @Autowired
+    private lateinit var listenerContainer: RedisMessageListenerContainer
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.datasource.read-your-writes-seconds:10}")
+    private var stickySeconds: Long = 10
+
+    private var replicaDsl: DSLContext? = null
+    // user -> time of their last write, present while their reads stick to the primary
+    private lateinit var recentWriters: Cache<UUID, Long>
+    private lateinit var primaryReads: Counter
+    private lateinit var replicaReads: Counter
+
+    @PostConstruct
+    fun init() {
+        // derived so the replica context keeps the primary's dialect, settings, listeners and record mappers
+        if (replicas.pools.isNotEmpty()) replicaDsl = DSL.using(configuration.derive(RoundRobinConnectionProvider(replicas.pools)))
+        recentWriters = Caffeine.newBuilder().expireAfterWrite(stickySeconds, TimeUnit.SECONDS).build()
+        primaryReads = meterRegistry.counter("crylic.db.reads", "target", "primary")
+        replicaReads = meterRegistry.counter("crylic.db.reads", "target", "replica")
+        listenerContainer.addMessageListener(MessageListener { message, _ ->
+            recentWriters.put(UUID.fromString(String(message.body)), System.currentTimeMillis())
+        }, ChannelTopic(REDIS_WRITE_CHANNEL))
+    }
+
+    // context for a read of data owned by userId, null when there's no user to keep consistent for
+    fun read(userId: UUID?): DSLContext {
+        val replica = replicaDsl
+        if (replica == null || TransactionSynchronizationManager.isActualTransactionActive() || (userId != null && recentWriters.getIfPresent(userId) != null)) {
+            primaryReads.increment()
+            return dsl
+        }
+        replicaReads.increment()
+        return replica
+    }
+
+    fun wrote(userId: UUID) {
+        if (replicaDsl == null) return
+        recentWriters.put(userId, System.currentTimeMillis())
+        try {
+            template.convertAndSend(REDIS_WRITE_CHANNEL, userId.toString())
+        } catch (e: Exception) {
+            logger.warn("Unable to announce write by $userId", e)
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hstar.crylic.db
+
+import java.sql.DriverManager
+import java.sql.SQLException
+import java.util.concurrent.ConcurrentHashMap
+import javax.annotation.PreDestroy
+import org.postgresql.PGConnection
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.stereotype.Component
+
+private const val POLL_MILLIS = 5000
+private const val RECONNECT_MILLIS = 5000L
+
+private class Subscription(val onConnect: () -> Unit, val onNotification: (String) -> Unit)
+
+private class Database(val name: String, val url: String, val username: String?, val password: String?)
+
+/**
+ * Holds one LISTEN connection on the primary and one on each shard for every postgres notification channel the backend subscribes to,
+ * rows on a shard notify from that shard's triggers. Each runs on its own connection outside the pools since it's held for the life of the process.
+ * Subscribers are told whenever a connection is (re)established as notifications may have been missed,
+ * callbacks run on the listener threads, one per database, so they should be thread safe and hand off anything slow.
+ */
+@Component
+class PgNotificationListener {
+    private val logger = LoggerFactory.getLogger(PgNotificationListener::class.java)
+
+    @Autowired
+    private lateinit var properties: DataSourceProperties
+    @Autowired
+    private lateinit var shardDataSources: ShardDataSources
+
+    private val subscriptions = ConcurrentHashMap<String, Subscription>()
+    @Volatile
+    private var running = false
+    private var threads = emptyList<Thread>()
+
+    // subscriptions are made during startup, the connection is only opened once they're all in
+    fun subscribe(channel: String, onConnect: () -> Unit, onNotification: (String) -> Unit) {
+        check(!running) { "Subscriptions to $channel have to be made before the application is ready" }
+        subscriptions[channel] = Subscription(onConnect, onNotification)
+    }
+
+    @EventListener(ApplicationReadyEvent::class)
+    fun start() {
+        if (subscriptions.isEmpty()) return
+        running = true
+        val databases = listOf(Database(PRIMARY_SHARD, properties.determineUrl(), properties.determineUsername(), properties.determinePassword())) +
+                shardDataSources.pools.map { (name, pool) -> Database(name, pool.jdbcUrl, pool.username, pool.password) }
+        threads = databases.map { database ->
+            Thread({ listen(database) }, "pg-notification-listener-${database.name}").apply {
+                isDaemon = true
+                start()
+            }
+        }
+    }
+
+    @PreDestroy
+    fun stop() {
+        running = false
+        threads.forEach { it.interrupt() }
+    }
+
+    private fun listen(database: Database) {
+        while (running) {
+            try {
+                DriverManager.getConnection(database.url, database.username, database.password).use { connection ->
+                    connection.createStatement().use { statement -> subscriptions.keys.forEach { statement.execute("LISTEN $it") } }
+                    subscriptions.values.forEach { it.onConnect() }
+                    val pgConnection = connection.unwrap(PGConnection::class.java)
+                    while (running) {
+                        pgConnection.getNotifications(POLL_MILLIS)?.forEach { subscriptions[it.name]?.onNotification?.invoke(it.parameter) }
+                    }
+                }
+            } catch (e: SQLException) {
+                if (!running) return
+                logger.warn("Postgres notification listener on ${database.name} disconnected, retrying", e)
+                try {
+                    Thread.sleep(RECONNECT_MILLIS)
+                } catch (e: InterruptedException) {
+                    return
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Tables
+import org.jooq.DSLContext
+import org.jooq.Param
+import org.jooq.Record
+import org.jooq.Result
+import org.jooq.Select
+import org.jooq.impl.DSL
+import org.springframework.stereotype.Component
+
+/**
+ * A select rendered to SQL once, each call only binds new values, skipping jOOQ's query building and rendering.
+ * The statement text is identical on every call so the driver's per-connection statement cache turns it into a server-side prepared statement
+ * after prepareThreshold uses, postgres then skips parsing and planning it too.
+ * Placeholders are [DSL.param]s in the source query, values are bound in the order they appear and go through the param's converter.
+ * Runs through the plain SQL api, so execute listeners, result converters and record mappers apply as they do to any other query.
+ */
+class PreparedQuery(dsl: DSLContext, query: Select<*>) {
+    val sql: String = dsl.render(query)
+    private val fields = query.select.toTypedArray()
+    private val params: List<Param<*>> = dsl.extractParams(query).values.toList()
+
+    // any context of the same dialect, e.g. the user's shard
+    fun fetch(dsl: DSLContext, vararg values: Any?): Result<Record> {
+        require(values.size == params.size) { "Expected ${params.size} bind values, got ${values.size}" }
+        val binds = Array(values.size) { i -> DSL.`val`(values[i], params[i].dataType) }
+        return dsl.resultQuery(sql, *binds).coerce(*fields).fetch()
+    }
+}
+
+/**
+ * Pre-rendered queries for the hottest fixed lookups.
+ */
+@Component
+class PreparedQueries(dsl: DSLContext) {
+    val userByEmail = PreparedQuery(dsl, DSL.selectFrom(Tables.USER).where(Tables.USER.EMAIL.eq(DSL.param("email", Tables.USER.EMAIL))))
+    val projectById = PreparedQuery(dsl, DSL.selectFrom(Tables.PROJECT).where(Tables.PROJECT.ID.eq(DSL.param("id", Tables.PROJECT.ID))))
+    val integrationByUserAndType = PreparedQuery(dsl, DSL.selectFrom(Tables.INTEGRATION).where(
+            Tables.INTEGRATION.USER_ID.eq(DSL.param("userId", Tables.INTEGRATION.USER_ID)),
+            Tables.INTEGRATION.TYPE.eq(DSL.param("type", Tables.INTEGRATION.TYPE))))
+}
@@ -0,0 +1,12 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.model.ProjectMetadata
+import org.jooq.JSONB
+import org.jooq.impl.AbstractConverter
+
+// bound to PROJECT.METADATA through a jooq forced type
+class ProjectMetadataConverter : AbstractConverter<JSONB, ProjectMetadata>(JSONB::class.java, ProjectMetadata::class.java) {
+    override fun from(databaseObject: JSONB?) = databaseObject?.let { ProjectMetadata.adapter.fromJson(it.data()) }
+
+    override fun to(userObject: ProjectMetadata?) = userObject?.let { JSONB.valueOf(ProjectMetadata.adapter.toJson(it)) }
+}
@@ -0,0 +1,108 @@
+package com.hstar.crylic.db
+
+import com.github.benmanes.caffeine.cache.Caffeine
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import java.util.concurrent.TimeUnit
+import org.jooq.ExecuteContext
+import org.jooq.ExecuteListener
+import org.jooq.ExecuteListenerProvider
+import org.jooq.impl.DefaultExecuteListener
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import org.springframework.web.context.request.RequestAttributes
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.ServletRequestAttributes
+import org.springframework.web.servlet.HandlerMapping
+
+private const val QUERY_TIMER = "crylic.db.query"
+private const val N_PLUS_ONE_COUNTER = "crylic.db.n-plus-one"
+private const val START_KEY = "crylic.db.start"
+private const val REQUEST_COUNTS_ATTRIBUTE = "crylic.db.templateCounts"
+
+private val STRING_LITERAL = Regex("'(?:[^']|'')*'")
+private val NUMBER_LITERAL = Regex("(?<![\\w\"])-?\\d+(?:\\.\\d+)?(?![\\w\"])")
+private val BIND_LIST = Regex("\\?(?:, \\?)+")
+// parenthesized rows allowing one level of nesting, e.g. (cast(? as uuid), ?)
+private const val ROW = "\\((?:[^()]|\\([^()]*\\))*\\)"
+private val ROW_LIST = Regex("($ROW)(?:, $ROW)+")
+
+/**
+ * Times every statement run through jOOQ into a histogram per sql template, with literals and bind lists collapsed so the template
+ * doesn't vary with values or IN-list and multi-row insert sizes.
+ * Statements slower than crylic.db.slow-query-ms are logged as their template, so bind values never reach the logs.
+ * A template run more than crylic.db.n-plus-one-threshold times within one http request is flagged as a likely N+1 along with the route.
+ * Picked up by spring boot's jooq configuration as an ExecuteListenerProvider, one stateless instance serves every execution.
+ */
+@Component
+class QueryMetricsListener : DefaultExecuteListener(), ExecuteListenerProvider {
+    private val logger = LoggerFactory.getLogger(QueryMetricsListener::class.java)
+
+    @Autowired
+    private lateinit var registry: MeterRegistry
+    @Value("\${crylic.db.slow-query-ms:200}")
+    private var slowQueryMs: Long = 200
+    @Value("\${crylic.db.n-plus-one-threshold:10}")
+    private var nPlusOneThreshold: Int = 10
+
+    // jooq renders the same sql for every execution of a query shape, so normalizing is paid once per distinct statement
+    private val templates = Caffeine.newBuilder().maximumSize(1000).build<String, String>()
+
+    override fun provide(): ExecuteListener = this
+
+    override fun executeStart(ctx: ExecuteContext) {
+        ctx.data(START_KEY, System.nanoTime())
+    }
+
+    override fun end(ctx: ExecuteContext) {
+        val start = ctx.data(START_KEY) as? Long ?: return
+        val elapsed = System.nanoTime() - start
+        val sql = ctx.sql() ?: ctx.batchSQL().firstOrNull() ?: return
+        val template = templates.get(sql) { normalize(it) }!!
+        val outcome = if (ctx.exception() != null) "error" else "success"
+
+        Timer.builder(QUERY_TIMER)
+                .tag("query", template)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry).record(elapsed, TimeUnit.NANOSECONDS)
+
+        val elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsed)
+        if (elapsedMs >= slowQueryMs) {
+            logger.warn("Slow query ($elapsedMs ms, $outcome, ${route() ?: "no request"}): $template")
+        }
+        countForRequest(template)
+    }
+
+    private fun countForRequest(template: String) {
+        val attributes = RequestContextHolder.getRequestAttributes() ?: return
+        @Suppress("UNCHECKED_CAST")
+        val counts = attributes.getAttribute(REQUEST_COUNTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) as? HashMap<String, Int>
+                ?: HashMap<String, Int>().also { attributes.setAttribute(REQUEST_COUNTS_ATTRIBUTE, it, RequestAttributes.SCOPE_REQUEST) }
+        // data fetchers can run concurrently within a request
+        val count = synchronized(counts) { counts.merge(template, 1, Int::plus)!! }
+        // flagged once per template per request
+        if (count == nPlusOneThreshold + 1) {
+            Counter.builder(N_PLUS_ONE_COUNTER).tag("route", routePattern() ?: "unknown").register(registry).increment()
+            logger.warn("Likely N+1 on ${route()}, query ran more than $nPlusOneThreshold times in one request: $template")
+        }
+    }
+
+    private fun route() = request()?.let { "${it.method} ${it.requestURI}" }
+
+    // the matched mapping for meter tags, the uri holds ids and file paths and would make a series per request
+    private fun routePattern() = request()?.let { request ->
+        (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) as? String)?.let { "${request.method} $it" }
+    }
+
+    private fun request() = (RequestContextHolder.getRequestAttributes() as? ServletRequestAttributes)?.request
+
+    private fun normalize(sql: String) = sql
+            .replace(STRING_LITERAL, "?")
+            .replace(NUMBER_LITERAL, "?")
+            .replace(BIND_LIST, "?, ...")
+            .replace(ROW_LIST, "$1, ...")
+}
@@ -0,0 +1,95 @@
+package com.hstar.crylic.db
+
+import io.r2dbc.spi.Connection
+import io.r2dbc.spi.ConnectionFactory
+import io.r2dbc.spi.Row
+import io.r2dbc.spi.Statement
+import java.util.function.Function
+import org.jooq.Configuration
+import org.jooq.Converter
+import org.jooq.Field
+import org.jooq.JSONB
+import org.jooq.Query
+import org.jooq.Record
+import org.jooq.Select
+import org.jooq.impl.DSL
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+
+// jdbc's ? placeholders to $1, $2.., skipping quoted literals and identifiers
+private fun placeholders(sql: String): String {
+    val result = StringBuilder(sql.length + 16)
+    var quote: Char? = null
+    var index = 0
+    for (c in sql) {
+        when {
+            quote != null -> {
+                if (c == quote) quote = null
+                result.append(c)
+            }
+            c == '\'' || c == '"' -> {
+                quote = c
+                result.append(c)
+            }
+            c == '?' -> result.append('$').append(++index)
+            else -> result.append(c)
+        }
+    }
+    return result.toString()
+}
+
+/**
+ * Runs jOOQ queries on an r2dbc [ConnectionFactory] without blocking.
+ * jOOQ renders the statement and its bind values as it would for jdbc, the placeholders are rewritten to postgres' native $n parameters
+ * and rows are read back into records through the fields' converters, so they map onto pojos just like a jdbc fetch.
+ */
+class R2dbcExecutor(configuration: Configuration, private val connections: ConnectionFactory) {
+    private val dsl = DSL.using(configuration)
+
+    fun fetch(query: Select<*>): Flux<Record> {
+        val fields = query.select.toTypedArray()
+        return withConnection { connection ->
+            Flux.from(statement(connection, query).execute()).concatMap { result -> result.map { row, _ -> record(row, fields) } }
+        }
+    }
+
+    fun <E> fetchInto(query: Select<*>, type: Class<out E>): Flux<E> = fetch(query).map { it.into(type) }
+
+    fun execute(query: Query): Mono<Int> = withConnection { connection ->
+        Flux.from(statement(connection, query).execute()).concatMap { it.rowsUpdated }
+    }.reduce(0) { total, rows -> total + rows }
+
+    private fun <T> withConnection(action: (Connection) -> Flux<T>): Flux<T> =
+            Flux.usingWhen(Mono.from(connections.create()), Function { action(it) }, Function { it.close() })
+
+    private fun statement(connection: Connection, query: Query): Statement {
+        val statement = connection.createStatement(placeholders(dsl.render(query)))
+        dsl.extractParams(query).values.filter { !it.isInline }.forEachIndexed { i, param ->
+            @Suppress("UNCHECKED_CAST")
+            val value = (param.converter as Converter<Any?, Any?>).to(param.value)
+            // jOOQ casts jsonb binds, so they're sent as text
+            when (value) {
+                null -> statement.bindNull(i, bindType(param.converter.fromType()))
+                is JSONB -> statement.bind(i, value.data())
+                else -> statement.bind(i, value)
+            }
+        }
+        return statement
+    }
+
+    private fun record(row: Row, fields: Array<Field<*>>): Record {
+        val record = dsl.newRecord(*fields)
+        fields.forEachIndexed { i, field ->
+            @Suppress("UNCHECKED_CAST")
+            val converter = field.converter as Converter<Any?, Any?>
+            val type = converter.fromType()
+            val value = if (type == JSONB::class.java) row.get(i, String::class.java)?.let { JSONB.valueOf(it) } else row.get(i, type)
+            @Suppress("UNCHECKED_CAST")
+            record.set(field as Field<Any?>, converter.from(value))
+        }
+        record.changed(false)
+        return record
+    }
+
+    private fun bindType(type: Class<*>) = if (type == JSONB::class.java) String::class.java else type
+}
@@ -0,0 +1,73 @@
+package com.hstar.crylic.db
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.r2dbc.pool.ConnectionPool
+import io.r2dbc.pool.ConnectionPoolConfiguration
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider
+import io.r2dbc.spi.ConnectionFactories
+import io.r2dbc.spi.ConnectionFactoryOptions
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.jooq.Configuration
+import org.jooq.Query
+import org.jooq.Select
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties
+import org.springframework.stereotype.Component
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+
+private const val POOL_NAME = "crylic-r2dbc"
+
+/**
+ * Non-blocking execution of jOOQ queries for callers that compose their data access instead of holding a thread per query.
+ * With crylic.r2dbc.enabled queries run over an r2dbc pool to the primary, sharing the jdbc pool's database and credentials,
+ * otherwise they run on the jdbc connection they're attached to when subscribed to.
+ * Transactions, replica routing and execute listeners stay with the jdbc path.
+ */
+@Component
+class ReactiveDatabase {
+    @Autowired
+    private lateinit var configuration: Configuration
+    @Autowired
+    private lateinit var properties: DataSourceProperties
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.r2dbc.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.r2dbc.pool-size:20}")
+    private var poolSize: Int = 20
+
+    private var pool: ConnectionPool? = null
+    private var executor: R2dbcExecutor? = null
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        val options = ConnectionFactoryOptions.parse(properties.determineUrl().replaceFirst("jdbc:", "r2dbc:")).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.determinePassword())
+                // off by default, nagle holds back the driver's small extended query messages for a delayed ack
+                .option(PostgresqlConnectionFactoryProvider.TCP_NODELAY, true)
+                .build()
+        val pool = ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(POOL_NAME)
+                .maxSize(poolSize)
+                .build())
+        ConnectionPoolMetrics(pool, POOL_NAME, emptyList()).bindTo(meterRegistry)
+        this.pool = pool
+        executor = R2dbcExecutor(configuration, pool)
+    }
+
+    @PreDestroy
+    fun close() {
+        pool?.dispose()
+    }
+
+    fun <E> fetchInto(query: Select<*>, type: Class<out E>): Flux<E> =
+            executor?.fetchInto(query, type) ?: Flux.defer { Flux.fromIterable(query.fetchInto(type)) }
+
+    fun execute(query: Query): Mono<Int> = executor?.execute(query) ?: Mono.fromCallable { query.execute() }
+}
@@ -0,0 +1,103 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.cache.EntityCache
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.files.BlobStore
+import java.util.*
+import org.jooq.impl.DSL
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+/**
+ * Moves users whose placement differs from the hash ring, e.g. after a shard is added, onto their ring shard while the app keeps serving.
+ * A move flags the user as moving so writes are refused, waits for every instance to see the flag, copies their projects, files and integrations,
+ * points the placement at the new shard and only then deletes the old rows. Reads keep using the old shard until the switch.
+ */
+@Component
+class ShardRebalancer {
+    private val logger = LoggerFactory.getLogger(ShardRebalancer::class.java)
+
+    @Autowired
+    private lateinit var shardRouter: ShardRouter
+    @Autowired
+    private lateinit var entityCache: EntityCache
+    @Autowired
+    private lateinit var blobStore: BlobStore
+    @Value("\${crylic.shards.move-settle-millis:2000}")
+    private var settleMillis: Long = 2000
+
+    // users to move and the shard each should move to, at most limit of them
+    fun misplaced(limit: Int): Map<UUID, String> {
+        val table = Tables.SHARD_PLACEMENT
+        val misplaced = LinkedHashMap<UUID, String>()
+        shardRouter.context(PRIMARY_SHARD).selectFrom(table).where(table.MOVING_TO.isNull).fetchSize(1000).fetchLazy().use { cursor ->
+            for (placement in cursor) {
+                val target = shardRouter.ringShard(placement.userId)
+                if (target != placement.shard) misplaced[placement.userId] = target
+                if (misplaced.size >= limit) break
+            }
+        }
+        return misplaced
+    }
+
+    fun rebalance(limit: Int): Int {
+        val moves = misplaced(limit)
+        moves.forEach { (userId, target) -> move(userId, target) }
+        return moves.size
+    }
+
+    fun move(userId: UUID, target: String) {
+        val placements = Tables.SHARD_PLACEMENT
+        val primary = shardRouter.context(PRIMARY_SHARD)
+        val source = primary.selectFrom(placements).where(placements.USER_ID.eq(userId), placements.MOVING_TO.isNull).fetchOne()?.shard ?: return
+        if (source == target) return
+        val claimed = primary.update(placements).set(placements.MOVING_TO, target)
+                .where(placements.USER_ID.eq(userId), placements.SHARD.eq(source), placements.MOVING_TO.isNull)
+                .execute()
+        if (claimed == 0) return
+
+        try {
+            // placements are cached, writes already in flight on other instances finish against the old shard within this window
+            Thread.sleep(settleMillis)
+            val from = shardRouter.context(source)
+            val projects = from.selectFrom(Tables.PROJECT).where(Tables.PROJECT.OWNER_ID.eq(userId)).fetch()
+            val files = from.selectFrom(Tables.PROJECT_FILE).where(Tables.PROJECT_FILE.PROJECT_ID.`in`(projects.map { it.id })).fetch()
+            val integrations = from.selectFrom(Tables.INTEGRATION).where(Tables.INTEGRATION.USER_ID.eq(userId)).fetch()
+            // a blob sweep checking the shards one by one could miss the files while they move, touching their blobs keeps them
+            files.map { it.hash }.distinct().forEach { blobStore.touch(it) }
+            // fetched records only insert the fields marked changed, integration ids come from each shard's own sequence
+            projects.forEach { it.changed(true) }
+            files.forEach { it.changed(true) }
+            integrations.forEach {
+                it.changed(true)
+                it.changed(Tables.INTEGRATION.ID, false)
+            }
+
+            shardRouter.context(target).transaction { configuration ->
+                val tx = DSL.using(configuration)
+                // leftovers of an earlier attempt that failed after copying, their files go with them
+                tx.deleteFrom(Tables.PROJECT).where(Tables.PROJECT.OWNER_ID.eq(userId)).execute()
+                tx.deleteFrom(Tables.INTEGRATION).where(Tables.INTEGRATION.USER_ID.eq(userId)).execute()
+                if (projects.isNotEmpty()) tx.batchInsert(projects).execute()
+                if (files.isNotEmpty()) tx.batchInsert(files).execute()
+                if (integrations.isNotEmpty()) tx.batchInsert(integrations).execute()
+            }
+            primary.update(placements).set(placements.SHARD, target).setNull(placements.MOVING_TO).where(placements.USER_ID.eq(userId)).execute()
+            shardRouter.evict(userId)
+            integrations.forEach { entityCache.evict(Tables.INTEGRATION, "$userId:${it.type}") }
+
+            from.transaction { configuration ->
+                val tx = DSL.using(configuration)
+                tx.deleteFrom(Tables.PROJECT).where(Tables.PROJECT.OWNER_ID.eq(userId)).execute()
+                tx.deleteFrom(Tables.INTEGRATION).where(Tables.INTEGRATION.USER_ID.eq(userId)).execute()
+            }
+            logger.info("Moved user $userId from shard $source to $target, ${projects.size} projects, ${files.size} files and ${integrations.size} integrations")
+        } catch (e: Exception) {
+            primary.update(placements).setNull(placements.MOVING_TO).where(placements.USER_ID.eq(userId), placements.SHARD.eq(source)).execute()
+            shardRouter.evict(userId)
+            throw e
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hstar.crylic.db
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.db.generated.Tables
+import java.util.*
+import javax.annotation.PostConstruct
+import org.jooq.Configuration
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import org.jooq.impl.DataSourceConnectionProvider
+import org.jooq.impl.DefaultTransactionProvider
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.stereotype.Component
+import org.springframework.web.server.ResponseStatusException
+
+const val PRIMARY_SHARD = "primary"
+private const val PLACEMENT_CHANNEL = "shard_placement"
+
+class Placement(val shard: String, val movingTo: String?)
+
+private val PRIMARY_PLACEMENT = Placement(PRIMARY_SHARD, null)
+
+/**
+ * Routes a user's projects and integrations to the shard holding them, users themselves always live on the primary.
+ * The shard comes from the user's "ShardPlacement" row, assigned from a [ConsistentHashRing] over every shard the first time they're routed,
+ * so adding a shard doesn't move anyone until [ShardRebalancer] copies them over.
+ * Every query is scoped to a single user's shard, nothing fans out across shards.
+ * Hasura only sees the primary, so shards can't be configured while clients still read or write projects through it.
+ */
+@Component
+class ShardRouter {
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var configuration: Configuration
+    @Autowired
+    private lateinit var shardDataSources: ShardDataSources
+    @Autowired
+    private lateinit var databaseRouter: DatabaseRouter
+    @Autowired
+    private lateinit var notificationListener: PgNotificationListener
+    @Value("\${crylic.shards.placement-cache-size:100000}")
+    private var placementCacheSize: Long = 100000
+    @Value("\${crylic.shards.clients-off-hasura:false}")
+    private var clientsOffHasura = false
+
+    private lateinit var ring: ConsistentHashRing
+    private lateinit var contexts: Map<String, DSLContext>
+    private lateinit var placements: Cache<UUID, Placement>
+
+    @PostConstruct
+    fun init() {
+        // users placed on another shard would lose their projects in the web client, which queries them through hasura
+        if (shardDataSources.pools.isNotEmpty() && !clientsOffHasura) {
+            throw IllegalStateException("crylic.shards needs crylic.shards.clients-off-hasura=true, hasura only sees the primary")
+        }
+        contexts = mapOf(PRIMARY_SHARD to dsl) + shardDataSources.pools.mapValues { (_, pool) ->
+            // spring's transaction manager only covers the primary, shard transactions are run by jOOQ on the shard's own connection
+            val connections = DataSourceConnectionProvider(pool)
+            DSL.using(configuration.derive(connections).derive(DefaultTransactionProvider(connections)))
+        }
+        ring = ConsistentHashRing(contexts.keys)
+        placements = Caffeine.newBuilder().maximumSize(placementCacheSize).build()
+        if (contexts.size > 1) notificationListener.subscribe(PLACEMENT_CHANNEL, placements::invalidateAll) { placements.invalidate(UUID.fromString(it)) }
+    }
+
+    val shards: Set<String> get() = contexts.keys
+
+    // where the user belongs on the ring, which differs from their placement until they're rebalanced
+    fun ringShard(userId: UUID) = ring.shardFor(userId)
+
+    fun context(shard: String) = contexts[shard] ?: throw IllegalStateException("Unknown shard $shard")
+
+    // reads of the user's data, served by a replica when they're on the primary
+    fun read(userId: UUID): DSLContext = placement(userId).shard.let { if (it == PRIMARY_SHARD) databaseRouter.read(userId) else context(it) }
+
+    // writes are refused while the user is being moved so nothing is left behind on the old shard
+    fun write(userId: UUID): DSLContext {
+        val placement = placement(userId)
+        if (placement.movingTo != null) throw ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "User data is being moved, retry shortly")
+        return context(placement.shard)
+    }
+
+    // the user's shard without the replicas or the move check, for reads that have to be current
+    fun dsl(userId: UUID): DSLContext = context(placement(userId).shard)
+
+    fun isPrimary(userId: UUID) = placement(userId).shard == PRIMARY_SHARD
+
+    fun placement(userId: UUID): Placement = if (contexts.size == 1) PRIMARY_PLACEMENT else placements.get(userId) { loadPlacement(it) }!!
+
+    fun evict(userId: UUID) = placements.invalidate(userId)
+
+    private fun loadPlacement(userId: UUID): Placement {
+        val table = Tables.SHARD_PLACEMENT
+        val record = dsl.selectFrom(table).where(table.USER_ID.eq(userId)).fetchOne() ?: run {
+            dsl.insertInto(table).columns(table.USER_ID, table.SHARD).values(userId, ring.shardFor(userId)).onConflictDoNothing().execute()
+            dsl.selectFrom(table).where(table.USER_ID.eq(userId)).fetchOne()
+        }
+        return Placement(record.shard, record.movingTo)
+    }
+}
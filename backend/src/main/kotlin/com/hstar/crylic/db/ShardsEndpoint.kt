@@ -0,0 +1,41 @@
+package com.hstar.crylic.db
+
+import com.hstar.crylic.db.generated.Tables
+import org.jooq.impl.DSL
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation
+import org.springframework.lang.Nullable
+import org.springframework.stereotype.Component
+
+private const val DEFAULT_REBALANCE_LIMIT = 100
+
+/**
+ * Shard tooling on the management port.
+ * GET /actuator/shards reports users per shard and how many are waiting to move,
+ * POST /actuator/shards {"limit": n} moves up to n misplaced users and can be repeated until none are left.
+ */
+@Component
+@Endpoint(id = "shards")
+class ShardsEndpoint {
+    @Autowired
+    private lateinit var shardRouter: ShardRouter
+    @Autowired
+    private lateinit var rebalancer: ShardRebalancer
+
+    @ReadOperation
+    fun status(): Map<String, Any> {
+        val placements = Tables.SHARD_PLACEMENT
+        val users = shardRouter.context(PRIMARY_SHARD).select(placements.SHARD, DSL.count()).from(placements).groupBy(placements.SHARD)
+                .fetchMap(placements.SHARD, DSL.count())
+        val moving = shardRouter.context(PRIMARY_SHARD).fetchCount(placements, placements.MOVING_TO.isNotNull)
+        return mapOf(
+                "shards" to shardRouter.shards.associateWith { users[it] ?: 0 },
+                "moving" to moving,
+                "misplaced" to rebalancer.misplaced(Int.MAX_VALUE).size)
+    }
+
+    @WriteOperation
+    fun rebalance(@Nullable limit: Int?) = mapOf("moved" to rebalancer.rebalance(limit ?: DEFAULT_REBALANCE_LIMIT))
+}
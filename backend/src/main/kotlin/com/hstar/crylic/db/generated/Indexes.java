@@ -4,7 +4,12 @@
 package com.hstar.crylic.db.generated;
 
 
+import com.hstar.crylic.db.generated.tables.Activity;
 import com.hstar.crylic.db.generated.tables.FlywaySchemaHistory;
+import com.hstar.crylic.db.generated.tables.Integration;
+import com.hstar.crylic.db.generated.tables.Job;
+import com.hstar.crylic.db.generated.tables.Project;
+import com.hstar.crylic.db.generated.tables.ProjectFile;
 
 import org.jooq.Index;
 import org.jooq.OrderField;
@@ -21,13 +26,25 @@ public class Indexes {
     // INDEX definitions
     // -------------------------------------------------------------------------
 
+    public static final Index ACTIVITY_USER_ID_OCCURRED_AT_IDX = Indexes0.ACTIVITY_USER_ID_OCCURRED_AT_IDX;
     public static final Index FLYWAY_SCHEMA_HISTORY_S_IDX = Indexes0.FLYWAY_SCHEMA_HISTORY_S_IDX;
+    public static final Index INTEGRATION_USER_ID_TYPE_KEY = Indexes0.INTEGRATION_USER_ID_TYPE_KEY;
+    public static final Index JOB_PRIORITY_RUN_AT_IDX = Indexes0.JOB_PRIORITY_RUN_AT_IDX;
+    public static final Index PROJECT_METADATA_IDX = Indexes0.PROJECT_METADATA_IDX;
+    public static final Index PROJECT_OWNER_ID_CREATED_AT_ID_IDX = Indexes0.PROJECT_OWNER_ID_CREATED_AT_ID_IDX;
+    public static final Index PROJECT_FILE_HASH_IDX = Indexes0.PROJECT_FILE_HASH_IDX;
 
     // -------------------------------------------------------------------------
     // [#1459] distribute members to avoid static initialisers > 64kb
     // -------------------------------------------------------------------------
 
     private static class Indexes0 {
+        public static Index ACTIVITY_USER_ID_OCCURRED_AT_IDX = Internal.createIndex("Activity_user_id_occurred_at_idx", Activity.ACTIVITY, new OrderField[] { Activity.ACTIVITY.USER_ID, Activity.ACTIVITY.OCCURRED_AT }, false);
         public static Index FLYWAY_SCHEMA_HISTORY_S_IDX = Internal.createIndex("flyway_schema_history_s_idx", FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY, new OrderField[] { FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY.SUCCESS }, false);
+        public static Index INTEGRATION_USER_ID_TYPE_KEY = Internal.createIndex("Integration_user_id_type_key", Integration.INTEGRATION, new OrderField[] { Integration.INTEGRATION.USER_ID, Integration.INTEGRATION.TYPE }, true);
+        public static Index JOB_PRIORITY_RUN_AT_IDX = Internal.createIndex("Job_priority_run_at_idx", Job.JOB, new OrderField[] { Job.JOB.PRIORITY.desc(), Job.JOB.RUN_AT }, false);
+        public static Index PROJECT_METADATA_IDX = Internal.createIndex("Project_metadata_idx", Project.PROJECT, new OrderField[] { Project.PROJECT.METADATA }, false);
+        public static Index PROJECT_OWNER_ID_CREATED_AT_ID_IDX = Internal.createIndex("Project_owner_id_created_at_id_idx", Project.PROJECT, new OrderField[] { Project.PROJECT.OWNER_ID, Project.PROJECT.CREATED_AT, Project.PROJECT.ID }, false);
+        public static Index PROJECT_FILE_HASH_IDX = Internal.createIndex("ProjectFile_hash_idx", ProjectFile.PROJECT_FILE, new OrderField[] { ProjectFile.PROJECT_FILE.HASH }, false);
     }
 }
@@ -4,13 +4,23 @@
 package com.hstar.crylic.db.generated;
 
 
+import com.hstar.crylic.db.generated.tables.Activity;
 import com.hstar.crylic.db.generated.tables.FlywaySchemaHistory;
 import com.hstar.crylic.db.generated.tables.Integration;
+import com.hstar.crylic.db.generated.tables.Job;
+import com.hstar.crylic.db.generated.tables.Outbox;
 import com.hstar.crylic.db.generated.tables.Project;
+import com.hstar.crylic.db.generated.tables.ProjectFile;
+import com.hstar.crylic.db.generated.tables.ShardPlacement;
 import com.hstar.crylic.db.generated.tables.User;
+import com.hstar.crylic.db.generated.tables.records.ActivityRecord;
 import com.hstar.crylic.db.generated.tables.records.FlywaySchemaHistoryRecord;
 import com.hstar.crylic.db.generated.tables.records.IntegrationRecord;
+import com.hstar.crylic.db.generated.tables.records.JobRecord;
+import com.hstar.crylic.db.generated.tables.records.OutboxRecord;
+import com.hstar.crylic.db.generated.tables.records.ProjectFileRecord;
 import com.hstar.crylic.db.generated.tables.records.ProjectRecord;
+import com.hstar.crylic.db.generated.tables.records.ShardPlacementRecord;
 import com.hstar.crylic.db.generated.tables.records.UserRecord;
 
 import org.jooq.ForeignKey;
@@ -32,14 +42,22 @@ public class Keys {
     // -------------------------------------------------------------------------
 
     public static final Identity<IntegrationRecord, Integer> IDENTITY_INTEGRATION = Identities0.IDENTITY_INTEGRATION;
+    public static final Identity<JobRecord, Long> IDENTITY_JOB = Identities0.IDENTITY_JOB;
+    public static final Identity<OutboxRecord, Long> IDENTITY_OUTBOX = Identities0.IDENTITY_OUTBOX;
 
     // -------------------------------------------------------------------------
     // UNIQUE and PRIMARY KEY definitions
     // -------------------------------------------------------------------------
 
+    public static final UniqueKey<ActivityRecord> ACTIVITY_PKEY = UniqueKeys0.ACTIVITY_PKEY;
     public static final UniqueKey<FlywaySchemaHistoryRecord> FLYWAY_SCHEMA_HISTORY_PK = UniqueKeys0.FLYWAY_SCHEMA_HISTORY_PK;
     public static final UniqueKey<IntegrationRecord> INTEGRATIONS_PKEY = UniqueKeys0.INTEGRATIONS_PKEY;
+    public static final UniqueKey<IntegrationRecord> INTEGRATION_USER_ID_TYPE_KEY = UniqueKeys0.INTEGRATION_USER_ID_TYPE_KEY;
+    public static final UniqueKey<JobRecord> JOB_PKEY = UniqueKeys0.JOB_PKEY;
+    public static final UniqueKey<OutboxRecord> OUTBOX_PKEY = UniqueKeys0.OUTBOX_PKEY;
+    public static final UniqueKey<ProjectFileRecord> PROJECT_FILE_PKEY = UniqueKeys0.PROJECT_FILE_PKEY;
     public static final UniqueKey<ProjectRecord> PROJECT_PKEY = UniqueKeys0.PROJECT_PKEY;
+    public static final UniqueKey<ShardPlacementRecord> SHARD_PLACEMENT_PKEY = UniqueKeys0.SHARD_PLACEMENT_PKEY;
     public static final UniqueKey<UserRecord> USER_PKEY = UniqueKeys0.USER_PKEY;
 
     // -------------------------------------------------------------------------
@@ -48,6 +66,7 @@ public class Keys {
 
     public static final ForeignKey<IntegrationRecord, UserRecord> INTEGRATION__INTEGRATIONS_USER_ID_FKEY = ForeignKeys0.INTEGRATION__INTEGRATIONS_USER_ID_FKEY;
     public static final ForeignKey<ProjectRecord, UserRecord> PROJECT__PROJECT_OWNER_ID_FKEY = ForeignKeys0.PROJECT__PROJECT_OWNER_ID_FKEY;
+    public static final ForeignKey<ProjectFileRecord, ProjectRecord> PROJECT_FILE__PROJECT_FILE_PROJECT_ID_FKEY = ForeignKeys0.PROJECT_FILE__PROJECT_FILE_PROJECT_ID_FKEY;
 
     // -------------------------------------------------------------------------
     // [#1459] distribute members to avoid static initialisers > 64kb
@@ -55,17 +74,26 @@ public class Keys {
 
     private static class Identities0 {
         public static Identity<IntegrationRecord, Integer> IDENTITY_INTEGRATION = Internal.createIdentity(Integration.INTEGRATION, Integration.INTEGRATION.ID);
+        public static Identity<JobRecord, Long> IDENTITY_JOB = Internal.createIdentity(Job.JOB, Job.JOB.ID);
+        public static Identity<OutboxRecord, Long> IDENTITY_OUTBOX = Internal.createIdentity(Outbox.OUTBOX, Outbox.OUTBOX.ID);
     }
 
     private static class UniqueKeys0 {
+        public static final UniqueKey<ActivityRecord> ACTIVITY_PKEY = Internal.createUniqueKey(Activity.ACTIVITY, "Activity_pkey", new TableField[] { Activity.ACTIVITY.ID, Activity.ACTIVITY.OCCURRED_AT }, true);
         public static final UniqueKey<FlywaySchemaHistoryRecord> FLYWAY_SCHEMA_HISTORY_PK = Internal.createUniqueKey(FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY, "flyway_schema_history_pk", new TableField[] { FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY.INSTALLED_RANK }, true);
         public static final UniqueKey<IntegrationRecord> INTEGRATIONS_PKEY = Internal.createUniqueKey(Integration.INTEGRATION, "Integrations_pkey", new TableField[] { Integration.INTEGRATION.ID }, true);
+        public static final UniqueKey<IntegrationRecord> INTEGRATION_USER_ID_TYPE_KEY = Internal.createUniqueKey(Integration.INTEGRATION, "Integration_user_id_type_key", new TableField[] { Integration.INTEGRATION.USER_ID, Integration.INTEGRATION.TYPE }, true);
+        public static final UniqueKey<JobRecord> JOB_PKEY = Internal.createUniqueKey(Job.JOB, "Job_pkey", new TableField[] { Job.JOB.ID }, true);
+        public static final UniqueKey<OutboxRecord> OUTBOX_PKEY = Internal.createUniqueKey(Outbox.OUTBOX, "Outbox_pkey", new TableField[] { Outbox.OUTBOX.ID }, true);
+        public static final UniqueKey<ProjectFileRecord> PROJECT_FILE_PKEY = Internal.createUniqueKey(ProjectFile.PROJECT_FILE, "ProjectFile_pkey", new TableField[] { ProjectFile.PROJECT_FILE.PROJECT_ID, ProjectFile.PROJECT_FILE.PATH }, true);
         public static final UniqueKey<ProjectRecord> PROJECT_PKEY = Internal.createUniqueKey(Project.PROJECT, "Project_pkey", new TableField[] { Project.PROJECT.ID }, true);
+        public static final UniqueKey<ShardPlacementRecord> SHARD_PLACEMENT_PKEY = Internal.createUniqueKey(ShardPlacement.SHARD_PLACEMENT, "ShardPlacement_pkey", new TableField[] { ShardPlacement.SHARD_PLACEMENT.USER_ID }, true);
         public static final UniqueKey<UserRecord> USER_PKEY = Internal.createUniqueKey(User.USER, "User_pkey", new TableField[] { User.USER.ID }, true);
     }
 
     private static class ForeignKeys0 {
         public static final ForeignKey<IntegrationRecord, UserRecord> INTEGRATION__INTEGRATIONS_USER_ID_FKEY = Internal.createForeignKey(Keys.USER_PKEY, Integration.INTEGRATION, "Integrations_user_id_fkey", new TableField[] { Integration.INTEGRATION.USER_ID }, true);
         public static final ForeignKey<ProjectRecord, UserRecord> PROJECT__PROJECT_OWNER_ID_FKEY = Internal.createForeignKey(Keys.USER_PKEY, Project.PROJECT, "Project_owner_id_fkey", new TableField[] { Project.PROJECT.OWNER_ID }, true);
+        public static final ForeignKey<ProjectFileRecord, ProjectRecord> PROJECT_FILE__PROJECT_FILE_PROJECT_ID_FKEY = Internal.createForeignKey(Keys.PROJECT_PKEY, ProjectFile.PROJECT_FILE, "ProjectFile_project_id_fkey", new TableField[] { ProjectFile.PROJECT_FILE.PROJECT_ID }, true);
     }
 }
@@ -4,10 +4,15 @@
 package com.hstar.crylic.db.generated;
 
 
+import com.hstar.crylic.db.generated.tables.Activity;
 import com.hstar.crylic.db.generated.tables.FlywaySchemaHistory;
 import com.hstar.crylic.db.generated.tables.Integration;
+import com.hstar.crylic.db.generated.tables.Job;
+import com.hstar.crylic.db.generated.tables.Outbox;
 import com.hstar.crylic.db.generated.tables.PgpArmorHeaders;
 import com.hstar.crylic.db.generated.tables.Project;
+import com.hstar.crylic.db.generated.tables.ProjectFile;
+import com.hstar.crylic.db.generated.tables.ShardPlacement;
 import com.hstar.crylic.db.generated.tables.User;
 import com.hstar.crylic.db.generated.tables.Viewer;
 import com.hstar.crylic.db.generated.tables.records.PgpArmorHeadersRecord;
@@ -39,6 +44,11 @@ public class Public extends SchemaImpl {
      */
     public static final Public PUBLIC = new Public();
 
+    /**
+     * The table <code>public.Activity</code>.
+     */
+    public final Activity ACTIVITY = Activity.ACTIVITY;
+
     /**
      * The table <code>public.flyway_schema_history</code>.
      */
@@ -49,6 +59,16 @@ public class Public extends SchemaImpl {
      */
     public final Integration INTEGRATION = Integration.INTEGRATION;
 
+    /**
+     * The table <code>public.Job</code>.
+     */
+    public final Job JOB = Job.JOB;
+
+    /**
+     * The table <code>public.Outbox</code>.
+     */
+    public final Outbox OUTBOX = Outbox.OUTBOX;
+
     /**
      * The table <code>public.pgp_armor_headers</code>.
      */
@@ -80,6 +100,16 @@ public class Public extends SchemaImpl {
      */
     public final Project PROJECT = Project.PROJECT;
 
+    /**
+     * The table <code>public.ProjectFile</code>.
+     */
+    public final ProjectFile PROJECT_FILE = ProjectFile.PROJECT_FILE;
+
+    /**
+     * The table <code>public.ShardPlacement</code>.
+     */
+    public final ShardPlacement SHARD_PLACEMENT = ShardPlacement.SHARD_PLACEMENT;
+
     /**
      * The table <code>public.User</code>.
      */
@@ -127,16 +157,23 @@ public class Public extends SchemaImpl {
     @Override
     public final List<Sequence<?>> getSequences() {
         return Arrays.<Sequence<?>>asList(
-            Sequences.INTEGRATIONS_ID_SEQ);
+            Sequences.INTEGRATIONS_ID_SEQ,
+            Sequences.JOB_ID_SEQ,
+            Sequences.OUTBOX_ID_SEQ);
     }
 
     @Override
     public final List<Table<?>> getTables() {
         return Arrays.<Table<?>>asList(
+            Activity.ACTIVITY,
             FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY,
             Integration.INTEGRATION,
+            Job.JOB,
+            Outbox.OUTBOX,
             PgpArmorHeaders.PGP_ARMOR_HEADERS,
             Project.PROJECT,
+            ProjectFile.PROJECT_FILE,
+            ShardPlacement.SHARD_PLACEMENT,
             User.USER,
             Viewer.VIEWER);
     }
@@ -18,4 +18,14 @@ public class Sequences {
      * The sequence <code>public.Integrations_id_seq</code>
      */
     public static final Sequence<Integer> INTEGRATIONS_ID_SEQ = Internal.createSequence("Integrations_id_seq", Public.PUBLIC, org.jooq.impl.SQLDataType.INTEGER.nullable(false), null, null, null, null, false, null);
+
+    /**
+     * The sequence <code>public.Outbox_id_seq</code>
+     */
+    public static final Sequence<Long> OUTBOX_ID_SEQ = Internal.createSequence("Outbox_id_seq", Public.PUBLIC, org.jooq.impl.SQLDataType.BIGINT.nullable(false), null, null, null, null, false, null);
+
+    /**
+     * The sequence <code>public.Job_id_seq</code>
+     */
+    public static final Sequence<Long> JOB_ID_SEQ = Internal.createSequence("Job_id_seq", Public.PUBLIC, org.jooq.impl.SQLDataType.BIGINT.nullable(false), null, null, null, null, false, null);
 }
@@ -4,10 +4,15 @@
 package com.hstar.crylic.db.generated;
 
 
+import com.hstar.crylic.db.generated.tables.Activity;
 import com.hstar.crylic.db.generated.tables.FlywaySchemaHistory;
 import com.hstar.crylic.db.generated.tables.Integration;
+import com.hstar.crylic.db.generated.tables.Job;
+import com.hstar.crylic.db.generated.tables.Outbox;
 import com.hstar.crylic.db.generated.tables.PgpArmorHeaders;
 import com.hstar.crylic.db.generated.tables.Project;
+import com.hstar.crylic.db.generated.tables.ProjectFile;
+import com.hstar.crylic.db.generated.tables.ShardPlacement;
 import com.hstar.crylic.db.generated.tables.User;
 import com.hstar.crylic.db.generated.tables.Viewer;
 import com.hstar.crylic.db.generated.tables.records.PgpArmorHeadersRecord;
@@ -25,6 +30,11 @@ import org.jooq.Result;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class Tables {
 
+    /**
+     * The table <code>public.Activity</code>.
+     */
+    public static final Activity ACTIVITY = Activity.ACTIVITY;
+
     /**
      * The table <code>public.flyway_schema_history</code>.
      */
@@ -35,6 +45,16 @@ public class Tables {
      */
     public static final Integration INTEGRATION = Integration.INTEGRATION;
 
+    /**
+     * The table <code>public.Job</code>.
+     */
+    public static final Job JOB = Job.JOB;
+
+    /**
+     * The table <code>public.Outbox</code>.
+     */
+    public static final Outbox OUTBOX = Outbox.OUTBOX;
+
     /**
      * The table <code>public.pgp_armor_headers</code>.
      */
@@ -66,6 +86,16 @@ public class Tables {
      */
     public static final Project PROJECT = Project.PROJECT;
 
+    /**
+     * The table <code>public.ProjectFile</code>.
+     */
+    public static final ProjectFile PROJECT_FILE = ProjectFile.PROJECT_FILE;
+
+    /**
+     * The table <code>public.ShardPlacement</code>.
+     */
+    public static final ShardPlacement SHARD_PLACEMENT = ShardPlacement.SHARD_PLACEMENT;
+
     /**
      * The table <code>public.User</code>.
      */
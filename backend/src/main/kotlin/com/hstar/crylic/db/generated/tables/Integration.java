@@ -4,6 +4,7 @@
 package com.hstar.crylic.db.generated.tables;
 
 
+import com.hstar.crylic.db.generated.Indexes;
 import com.hstar.crylic.db.generated.Keys;
 import com.hstar.crylic.db.generated.Public;
 import com.hstar.crylic.db.generated.tables.records.IntegrationRecord;
@@ -16,6 +17,7 @@ import java.util.UUID;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Row6;
@@ -117,6 +119,11 @@ public class Integration extends TableImpl<IntegrationRecord> {
         return Public.PUBLIC;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.<Index>asList(Indexes.INTEGRATION_USER_ID_TYPE_KEY);
+    }
+
     @Override
     public Identity<IntegrationRecord, Integer> getIdentity() {
         return Keys.IDENTITY_INTEGRATION;
@@ -129,7 +136,7 @@ public class Integration extends TableImpl<IntegrationRecord> {
 
     @Override
     public List<UniqueKey<IntegrationRecord>> getKeys() {
-        return Arrays.<UniqueKey<IntegrationRecord>>asList(Keys.INTEGRATIONS_PKEY);
+        return Arrays.<UniqueKey<IntegrationRecord>>asList(Keys.INTEGRATIONS_PKEY, Keys.INTEGRATION_USER_ID_TYPE_KEY);
     }
 
     @Override
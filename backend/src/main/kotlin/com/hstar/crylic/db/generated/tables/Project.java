@@ -4,20 +4,24 @@
 package com.hstar.crylic.db.generated.tables;
 
 
+import com.hstar.crylic.db.ProjectMetadataConverter;
+import com.hstar.crylic.db.generated.Indexes;
 import com.hstar.crylic.db.generated.Keys;
 import com.hstar.crylic.db.generated.Public;
 import com.hstar.crylic.db.generated.tables.records.ProjectRecord;
+import com.hstar.crylic.model.ProjectMetadata;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 import org.jooq.Field;
 import org.jooq.ForeignKey;
-import org.jooq.JSONB;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
-import org.jooq.Row5;
+import org.jooq.Row7;
 import org.jooq.Schema;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -33,7 +37,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class Project extends TableImpl<ProjectRecord> {
 
-    private static final long serialVersionUID = -918140214;
+    private static final long serialVersionUID = -694878623;
 
     /**
      * The reference instance of <code>public.Project</code>
@@ -51,7 +55,7 @@ public class Project extends TableImpl<ProjectRecord> {
     /**
      * The column <code>public.Project.id</code>.
      */
-    public final TableField<ProjectRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("gen_random_uuid()", org.jooq.impl.SQLDataType.UUID)), this, "");
+    public final TableField<ProjectRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("uuid_generate_v7()", org.jooq.impl.SQLDataType.UUID)), this, "");
 
     /**
      * The column <code>public.Project.owner_id</code>.
@@ -71,7 +75,17 @@ public class Project extends TableImpl<ProjectRecord> {
     /**
      * The column <code>public.Project.metadata</code>.
      */
-    public final TableField<ProjectRecord, JSONB> METADATA = createField(DSL.name("metadata"), org.jooq.impl.SQLDataType.JSONB.nullable(false), this, "");
+    public final TableField<ProjectRecord, ProjectMetadata> METADATA = createField(DSL.name("metadata"), org.jooq.impl.SQLDataType.JSONB.nullable(false), this, "", new ProjectMetadataConverter());
+
+    /**
+     * The column <code>public.Project.created_at</code>.
+     */
+    public final TableField<ProjectRecord, OffsetDateTime> CREATED_AT = createField(DSL.name("created_at"), org.jooq.impl.SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false).defaultValue(org.jooq.impl.DSL.field("now()", org.jooq.impl.SQLDataType.TIMESTAMPWITHTIMEZONE)), this, "");
+
+    /**
+     * The column <code>public.Project.updated_at</code>.
+     */
+    public final TableField<ProjectRecord, OffsetDateTime> UPDATED_AT = createField(DSL.name("updated_at"), org.jooq.impl.SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false).defaultValue(org.jooq.impl.DSL.field("now()", org.jooq.impl.SQLDataType.TIMESTAMPWITHTIMEZONE)), this, "");
 
     /**
      * Create a <code>public.Project</code> table reference
@@ -111,6 +125,11 @@ public class Project extends TableImpl<ProjectRecord> {
         return Public.PUBLIC;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.<Index>asList(Indexes.PROJECT_METADATA_IDX, Indexes.PROJECT_OWNER_ID_CREATED_AT_ID_IDX);
+    }
+
     @Override
     public UniqueKey<ProjectRecord> getPrimaryKey() {
         return Keys.PROJECT_PKEY;
@@ -157,11 +176,11 @@ public class Project extends TableImpl<ProjectRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row5 type methods
+    // Row7 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row5<UUID, UUID, String, String, JSONB> fieldsRow() {
-        return (Row5) super.fieldsRow();
+    public Row7<UUID, UUID, String, String, ProjectMetadata, OffsetDateTime, OffsetDateTime> fieldsRow() {
+        return (Row7) super.fieldsRow();
     }
 }
@@ -51,7 +51,7 @@ public class User extends TableImpl<UserRecord> {
     /**
      * The column <code>public.User.id</code>.
      */
-    public final TableField<UserRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("gen_random_uuid()", org.jooq.impl.SQLDataType.UUID)), this, "");
+    public final TableField<UserRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("uuid_generate_v7()", org.jooq.impl.SQLDataType.UUID)), this, "");
 
     /**
      * The column <code>public.User.email</code>.
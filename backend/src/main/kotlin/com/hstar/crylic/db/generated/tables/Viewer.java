@@ -48,7 +48,7 @@ public class Viewer extends TableImpl<ViewerRecord> {
     /**
      * The column <code>public.viewer.id</code>.
      */
-    public final TableField<ViewerRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("gen_random_uuid()", org.jooq.impl.SQLDataType.UUID)), this, "");
+    public final TableField<ViewerRecord, UUID> ID = createField(DSL.name("id"), org.jooq.impl.SQLDataType.UUID.nullable(false).defaultValue(org.jooq.impl.DSL.field("uuid_generate_v7()", org.jooq.impl.SQLDataType.UUID)), this, "");
 
     /**
      * The column <code>public.viewer.email</code>.
@@ -4,11 +4,12 @@
 package com.hstar.crylic.db.generated.tables.pojos;
 
 
+import com.hstar.crylic.model.ProjectMetadata;
+
 import java.io.Serializable;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
-import org.jooq.JSONB;
-
 
 /**
  * This class is generated by jOOQ.
@@ -16,13 +17,15 @@ import org.jooq.JSONB;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class Project implements Serializable {
 
-    private static final long serialVersionUID = -1024556178;
+    private static final long serialVersionUID = 1173452791;
 
-    private final UUID   id;
-    private final UUID   ownerId;
-    private final String name;
-    private final String type;
-    private final JSONB  metadata;
+    private final UUID            id;
+    private final UUID            ownerId;
+    private final String          name;
+    private final String          type;
+    private final ProjectMetadata metadata;
+    private final OffsetDateTime  createdAt;
+    private final OffsetDateTime  updatedAt;
 
     public Project(Project value) {
         this.id = value.id;
@@ -30,20 +33,26 @@ public class Project implements Serializable {
         this.name = value.name;
         this.type = value.type;
         this.metadata = value.metadata;
+        this.createdAt = value.createdAt;
+        this.updatedAt = value.updatedAt;
     }
 
     public Project(
-        UUID   id,
-        UUID   ownerId,
-        String name,
-        String type,
-        JSONB  metadata
+        UUID            id,
+        UUID            ownerId,
+        String          name,
+        String          type,
+        ProjectMetadata metadata,
+        OffsetDateTime  createdAt,
+        OffsetDateTime  updatedAt
     ) {
         this.id = id;
         this.ownerId = ownerId;
         this.name = name;
         this.type = type;
         this.metadata = metadata;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     public UUID getId() {
@@ -62,10 +71,18 @@ public class Project implements Serializable {
         return this.type;
     }
 
-    public JSONB getMetadata() {
+    public ProjectMetadata getMetadata() {
         return this.metadata;
     }
 
+    public OffsetDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("Project (");
@@ -75,6 +92,8 @@ public class Project implements Serializable {
         sb.append(", ").append(name);
         sb.append(", ").append(type);
         sb.append(", ").append(metadata);
+        sb.append(", ").append(createdAt);
+        sb.append(", ").append(updatedAt);
 
         sb.append(")");
         return sb.toString();
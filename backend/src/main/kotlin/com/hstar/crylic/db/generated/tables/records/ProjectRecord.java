@@ -5,14 +5,15 @@ package com.hstar.crylic.db.generated.tables.records;
 
 
 import com.hstar.crylic.db.generated.tables.Project;
+import com.hstar.crylic.model.ProjectMetadata;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import org.jooq.Field;
-import org.jooq.JSONB;
 import org.jooq.Record1;
-import org.jooq.Record5;
-import org.jooq.Row5;
+import org.jooq.Record7;
+import org.jooq.Row7;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -20,9 +21,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements Record5<UUID, UUID, String, String, JSONB> {
+public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements Record7<UUID, UUID, String, String, ProjectMetadata, OffsetDateTime, OffsetDateTime> {
 
-    private static final long serialVersionUID = 899001871;
+    private static final long serialVersionUID = 205763388;
 
     /**
      * Setter for <code>public.Project.id</code>.
@@ -87,7 +88,7 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     /**
      * Setter for <code>public.Project.metadata</code>.
      */
-    public ProjectRecord setMetadata(JSONB value) {
+    public ProjectRecord setMetadata(ProjectMetadata value) {
         set(4, value);
         return this;
     }
@@ -95,8 +96,38 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     /**
      * Getter for <code>public.Project.metadata</code>.
      */
-    public JSONB getMetadata() {
-        return (JSONB) get(4);
+    public ProjectMetadata getMetadata() {
+        return (ProjectMetadata) get(4);
+    }
+
+    /**
+     * Setter for <code>public.Project.created_at</code>.
+     */
+    public ProjectRecord setCreatedAt(OffsetDateTime value) {
+        set(5, value);
+        return this;
+    }
+
+    /**
+     * Getter for <code>public.Project.created_at</code>.
+     */
+    public OffsetDateTime getCreatedAt() {
+        return (OffsetDateTime) get(5);
+    }
+
+    /**
+     * Setter for <code>public.Project.updated_at</code>.
+     */
+    public ProjectRecord setUpdatedAt(OffsetDateTime value) {
+        set(6, value);
+        return this;
+    }
+
+    /**
+     * Getter for <code>public.Project.updated_at</code>.
+     */
+    public OffsetDateTime getUpdatedAt() {
+        return (OffsetDateTime) get(6);
     }
 
     // -------------------------------------------------------------------------
@@ -109,17 +140,17 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     }
 
     // -------------------------------------------------------------------------
-    // Record5 type implementation
+    // Record7 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row5<UUID, UUID, String, String, JSONB> fieldsRow() {
-        return (Row5) super.fieldsRow();
+    public Row7<UUID, UUID, String, String, ProjectMetadata, OffsetDateTime, OffsetDateTime> fieldsRow() {
+        return (Row7) super.fieldsRow();
     }
 
     @Override
-    public Row5<UUID, UUID, String, String, JSONB> valuesRow() {
-        return (Row5) super.valuesRow();
+    public Row7<UUID, UUID, String, String, ProjectMetadata, OffsetDateTime, OffsetDateTime> valuesRow() {
+        return (Row7) super.valuesRow();
     }
 
     @Override
@@ -143,10 +174,20 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     }
 
     @Override
-    public Field<JSONB> field5() {
+    public Field<ProjectMetadata> field5() {
         return Project.PROJECT.METADATA;
     }
 
+    @Override
+    public Field<OffsetDateTime> field6() {
+        return Project.PROJECT.CREATED_AT;
+    }
+
+    @Override
+    public Field<OffsetDateTime> field7() {
+        return Project.PROJECT.UPDATED_AT;
+    }
+
     @Override
     public UUID component1() {
         return getId();
@@ -168,10 +209,20 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     }
 
     @Override
-    public JSONB component5() {
+    public ProjectMetadata component5() {
         return getMetadata();
     }
 
+    @Override
+    public OffsetDateTime component6() {
+        return getCreatedAt();
+    }
+
+    @Override
+    public OffsetDateTime component7() {
+        return getUpdatedAt();
+    }
+
     @Override
     public UUID value1() {
         return getId();
@@ -193,10 +244,20 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     }
 
     @Override
-    public JSONB value5() {
+    public ProjectMetadata value5() {
         return getMetadata();
     }
 
+    @Override
+    public OffsetDateTime value6() {
+        return getCreatedAt();
+    }
+
+    @Override
+    public OffsetDateTime value7() {
+        return getUpdatedAt();
+    }
+
     @Override
     public ProjectRecord value1(UUID value) {
         setId(value);
@@ -222,18 +283,32 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     }
 
     @Override
-    public ProjectRecord value5(JSONB value) {
+    public ProjectRecord value5(ProjectMetadata value) {
         setMetadata(value);
         return this;
     }
 
     @Override
-    public ProjectRecord values(UUID value1, UUID value2, String value3, String value4, JSONB value5) {
+    public ProjectRecord value6(OffsetDateTime value) {
+        setCreatedAt(value);
+        return this;
+    }
+
+    @Override
+    public ProjectRecord value7(OffsetDateTime value) {
+        setUpdatedAt(value);
+        return this;
+    }
+
+    @Override
+    public ProjectRecord values(UUID value1, UUID value2, String value3, String value4, ProjectMetadata value5, OffsetDateTime value6, OffsetDateTime value7) {
         value1(value1);
         value2(value2);
         value3(value3);
         value4(value4);
         value5(value5);
+        value6(value6);
+        value7(value7);
         return this;
     }
 
@@ -251,7 +326,7 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
     /**
      * Create a detached, initialised ProjectRecord
      */
-    public ProjectRecord(UUID id, UUID ownerId, String name, String type, JSONB metadata) {
+    public ProjectRecord(UUID id, UUID ownerId, String name, String type, ProjectMetadata metadata, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
         super(Project.PROJECT);
 
         set(0, id);
@@ -259,5 +334,7 @@ public class ProjectRecord extends UpdatableRecordImpl<ProjectRecord> implements
         set(2, name);
         set(3, type);
         set(4, metadata);
+        set(5, createdAt);
+        set(6, updatedAt);
     }
 }
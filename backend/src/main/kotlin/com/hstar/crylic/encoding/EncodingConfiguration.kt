@@ -0,0 +1,20 @@
+package com.hstar.crylic.encoding
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.annotation.Configuration
+import org.springframework.http.converter.HttpMessageConverter
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer
+
+@Configuration
+class EncodingConfiguration : WebMvcConfigurer {
+    @Autowired
+    private lateinit var encodings: ResponseEncodings
+
+    // appended after the json converter so clients accepting anything still get json
+    override fun extendMessageConverters(converters: MutableList<HttpMessageConverter<*>>) {
+        converters.removeIf { it is MappingJackson2CborHttpMessageConverter }
+        converters.add(MappingJackson2CborHttpMessageConverter(encodings.cbor))
+        converters.add(MessagePackHttpMessageConverter(encodings.msgpack))
+    }
+}
@@ -0,0 +1,6 @@
+package com.hstar.crylic.encoding
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter
+
+class MessagePackHttpMessageConverter(objectMapper: ObjectMapper) : AbstractJackson2HttpMessageConverter(objectMapper, APPLICATION_MSGPACK)
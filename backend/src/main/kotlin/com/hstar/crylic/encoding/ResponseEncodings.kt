@@ -0,0 +1,40 @@
+package com.hstar.crylic.encoding
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory
+import org.msgpack.jackson.dataformat.MessagePackFactory
+import org.springframework.http.MediaType
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder
+import org.springframework.stereotype.Component
+
+val APPLICATION_MSGPACK = MediaType("application", "x-msgpack")
+
+/**
+ * Binary encodings clients can ask for with the Accept header instead of json.
+ * The same mappers back the graphql endpoint and the REST controllers' message converters,
+ * built from spring's mapper builder so they're configured from spring.jackson.* like the json mapper.
+ */
+@Component
+class ResponseEncodings(private val mapperBuilder: Jackson2ObjectMapperBuilder) {
+    val cbor: ObjectMapper by lazy { mapperBuilder.factory(CBORFactory()).build<ObjectMapper>() }
+    val msgpack: ObjectMapper by lazy { mapperBuilder.factory(MessagePackFactory()).build<ObjectMapper>() }
+
+    private val encodings by lazy { listOf(MediaType.APPLICATION_CBOR to cbor, APPLICATION_MSGPACK to msgpack) }
+
+    // the binary encoding the client prefers, null when it should get json
+    fun negotiate(accept: String?): Pair<MediaType, ObjectMapper>? {
+        if (accept == null) return null
+        val accepted = try {
+            MediaType.parseMediaTypes(accept)
+        } catch (e: Exception) {
+            return null
+        }
+        MediaType.sortBySpecificityAndQuality(accepted)
+        for (type in accepted) {
+            // wildcards and json keep the default encoding
+            if (type.isWildcardType || type.isWildcardSubtype || type.isCompatibleWith(MediaType.APPLICATION_JSON)) return null
+            encodings.find { it.first.isCompatibleWith(type) }?.let { return it }
+        }
+        return null
+    }
+}
@@ -0,0 +1,167 @@
+package com.hstar.crylic.files
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.utils.sha256Hex
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.nio.file.attribute.FileTime
+import java.time.Instant
+import javax.annotation.PostConstruct
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val TEMP_DIR = "tmp"
+private const val TRASH_DIR = "trash"
+private val HASH_PATTERN = Regex("[0-9a-f]{64}")
+
+fun isBlobHash(value: String) = HASH_PATTERN.matches(value)
+
+/**
+ * Content-addressed file contents on local disk, each blob is stored once under its sha-256 as <root>/ab/cdef.. however many files hold it.
+ * Blobs are written to a temp file, synced and renamed into place, so one either exists whole or not at all, and is never modified after.
+ * Reads are served from memory-mapped blobs, hot blobs keep their mapping in a cache bounded by total size so a repeat read is a view over the page cache,
+ * with no read call or copy onto the heap. Blobs under mmap-min-bytes are read onto the heap instead, mapping a small file costs more than reading it.
+ * Every instance has to see the same root, e.g. a shared volume, blobs written by one instance are read by whichever serves the request.
+ */
+@Component
+class BlobStore {
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.files.root:data/blobs}")
+    private var rootPath: String = "data/blobs"
+    @Value("\${crylic.files.hot-cache-mb:256}")
+    private var hotCacheMb: Long = 256
+    @Value("\${crylic.files.mmap-min-bytes:16384}")
+    private var mmapMinBytes: Long = 16384
+
+    private lateinit var root: Path
+    private lateinit var tempDir: Path
+    private lateinit var trashDir: Path
+    private lateinit var hot: Cache<String, ByteBuffer>
+    private lateinit var written: Counter
+    private lateinit var deduplicated: Counter
+
+    @PostConstruct
+    fun init() {
+        root = Paths.get(rootPath).toAbsolutePath()
+        tempDir = Files.createDirectories(root.resolve(TEMP_DIR))
+        trashDir = Files.createDirectories(root.resolve(TRASH_DIR))
+        // blobs a sweep was checking when the app stopped
+        Files.newDirectoryStream(trashDir).use { trashed -> trashed.forEach { restore(it.fileName.toString(), it) } }
+        hot = Caffeine.newBuilder()
+                .maximumWeight(hotCacheMb * 1024 * 1024)
+                .weigher<String, ByteBuffer> { _, buffer -> buffer.capacity() }
+                .recordStats()
+                .build()
+        CaffeineCacheMetrics.monitor(meterRegistry, hot, "crylic.files.hot")
+        written = meterRegistry.counter("crylic.files.blobs", "outcome", "written")
+        deduplicated = meterRegistry.counter("crylic.files.blobs", "outcome", "deduplicated")
+    }
+
+    // stores the content if no blob has it yet and returns its hash, callers that already hashed the content pass its sha-256 along
+    fun put(content: ByteArray, hash: String = sha256Hex(content)): String {
+        val path = path(hash)
+        // refreshed so a sweep running alongside leaves it for the manifest row about to reference it, see [trash]
+        if (touch(hash)) {
+            deduplicated.increment()
+            return hash
+        }
+
+        Files.createDirectories(path.parent)
+        val tmp = Files.createTempFile(tempDir, hash, null)
+        try {
+            FileChannel.open(tmp, StandardOpenOption.WRITE).use { channel ->
+                val buffer = ByteBuffer.wrap(content)
+                while (buffer.hasRemaining()) channel.write(buffer)
+                // the manifest row commits after this returns, the blob has to be on disk before anything references it
+                channel.force(true)
+            }
+            // a concurrent put of the same content renames over it with identical bytes
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE)
+        } finally {
+            Files.deleteIfExists(tmp)
+        }
+        written.increment()
+        return hash
+    }
+
+    // a read-only view of the blob positioned at its start, null if there's no such blob
+    fun get(hash: String): ByteBuffer? = hot.get(hash, ::load)?.asReadOnlyBuffer()
+
+    fun exists(hash: String) = Files.exists(path(hash))
+
+    // bumps the blob's modified time, false if there's no such blob
+    fun touch(hash: String): Boolean = try {
+        Files.setLastModifiedTime(path(hash), FileTime.from(Instant.now()))
+        true
+    } catch (e: NoSuchFileException) {
+        false
+    }
+
+    // hashes of blobs last written or touched before the cutoff
+    fun listOlderThan(cutoff: Instant): Sequence<String> = Files.newDirectoryStream(root).use { dirs -> dirs.toList() }.asSequence()
+            .filter { it.fileName.toString().length == 2 && Files.isDirectory(it) }
+            .flatMap { dir -> Files.newDirectoryStream(dir).use { blobs -> blobs.toList() }.asSequence() }
+            .filter { runCatching { Files.getLastModifiedTime(it).toInstant().isBefore(cutoff) }.getOrDefault(false) }
+            .map { it.parent.fileName.toString() + it.fileName.toString() }
+            .filter(::isBlobHash)
+
+    /**
+     * Deletes a blob found unreferenced, unless it was put or touched after the cutoff. It's moved aside before its time is checked,
+     * a put that found it in place has already touched it and one that didn't writes it again, so a blob is never deleted out from under a new reference.
+     */
+    fun trash(hash: String, cutoff: Instant): Boolean {
+        val path = path(hash)
+        val trashed = trashDir.resolve(hash)
+        try {
+            Files.move(path, trashed, StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: NoSuchFileException) {
+            return false
+        }
+        hot.invalidate(hash)
+        if (Files.getLastModifiedTime(trashed).toInstant().isBefore(cutoff)) {
+            Files.delete(trashed)
+            return true
+        }
+        restore(hash, trashed)
+        return false
+    }
+
+    // a put meanwhile may have written it again already, with the same bytes
+    private fun restore(hash: String, trashed: Path) {
+        val path = path(hash)
+        if (Files.exists(path)) Files.delete(trashed) else Files.move(trashed, path, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    private fun load(hash: String): ByteBuffer? = try {
+        FileChannel.open(path(hash), StandardOpenOption.READ).use { channel ->
+            val size = channel.size()
+            if (size < mmapMinBytes) {
+                val buffer = ByteBuffer.allocate(size.toInt())
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) continue
+                buffer.flip()
+            } else {
+                // the mapping stays valid after the channel closes, it's released when the buffer is collected
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+            }
+        }
+    } catch (e: NoSuchFileException) {
+        null
+    }
+
+    private fun path(hash: String): Path {
+        require(isBlobHash(hash)) { "Not a blob hash: $hash" }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2))
+    }
+}
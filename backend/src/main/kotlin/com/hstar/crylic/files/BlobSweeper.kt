@@ -0,0 +1,71 @@
+package com.hstar.crylic.files
+
+import com.hstar.crylic.db.ShardRouter
+import com.hstar.crylic.db.generated.Tables
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val BATCH_SIZE = 1000
+
+/**
+ * Deletes blobs no project file references any more, e.g. old versions of saved files, every sweep-interval-hours.
+ * Only blobs untouched for grace-minutes are considered, a blob that was just put may not have its manifest row committed yet.
+ * References are checked on every shard, instances sharing the blob root may all sweep it, deleting a blob twice is harmless.
+ */
+@Component
+class BlobSweeper {
+    private val logger = LoggerFactory.getLogger(BlobSweeper::class.java)
+
+    @Autowired
+    private lateinit var shardRouter: ShardRouter
+    @Autowired
+    private lateinit var blobStore: BlobStore
+    @Value("\${crylic.files.sweep.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.files.sweep.interval-hours:24}")
+    private var intervalHours: Long = 24
+    @Value("\${crylic.files.sweep.grace-minutes:60}")
+    private var graceMinutes: Long = 60
+
+    private val scheduler = Executors.newSingleThreadScheduledExecutor { Thread(it, "blob-sweeper").apply { isDaemon = true } }
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        scheduler.scheduleWithFixedDelay({
+            try {
+                sweep()
+            } catch (e: Exception) {
+                logger.warn("Blob sweep failed", e)
+            }
+        }, intervalHours, intervalHours, TimeUnit.HOURS)
+    }
+
+    @PreDestroy
+    fun stop() {
+        scheduler.shutdownNow()
+    }
+
+    fun sweep(): Int {
+        val cutoff = Instant.now().minus(graceMinutes, ChronoUnit.MINUTES)
+        val table = Tables.PROJECT_FILE
+        var deleted = 0
+        blobStore.listOlderThan(cutoff).chunked(BATCH_SIZE).forEach { hashes ->
+            // served by "ProjectFile_hash_idx"
+            val referenced = shardRouter.shards.flatMapTo(HashSet()) { shard ->
+                shardRouter.context(shard).selectDistinct(table.HASH).from(table).where(table.HASH.`in`(hashes)).fetch(table.HASH)
+            }
+            hashes.filterNot { it in referenced }.forEach { if (blobStore.trash(it, cutoff)) deleted++ }
+        }
+        logger.info("Swept $deleted unreferenced blobs")
+        return deleted
+    }
+}
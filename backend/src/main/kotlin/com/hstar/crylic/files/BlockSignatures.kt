@@ -0,0 +1,51 @@
+package com.hstar.crylic.files
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import kotlin.math.ceil
+import kotlin.math.sqrt
+
+// block sizes as rsync picks them, about the square root of the file's size
+private const val MIN_BLOCK_SIZE = 700
+private const val MAX_BLOCK_SIZE = 131072
+private const val STRONG_BYTES = 8
+
+fun blockSize(fileSize: Long): Int = ((ceil(sqrt(fileSize.toDouble())).toInt() + 7) / 8 * 8).coerceIn(MIN_BLOCK_SIZE, MAX_BLOCK_SIZE)
+
+/**
+ * rsync style signatures of a file's fixed size blocks, the last block may be short.
+ * weak is rsync's rolling checksum over a block's unsigned bytes x0..xn-1, a = sum(xi) and b = sum((n - i) * xi), both mod 2^16, as a | b << 16,
+ * a client rolls it over its copy one byte at a time to find blocks at any offset. strong is the first 8 bytes of the block's md5 in hex,
+ * checked on a weak match. A wrong match is caught by the file's sha-256 when the delta is applied.
+ */
+class BlockSignatures(val blockSize: Int, val weak: List<Int>, val strong: List<String>) {
+    companion object {
+        fun of(content: ByteBuffer): BlockSignatures {
+            val size = content.remaining()
+            val blockSize = blockSize(size.toLong())
+            val count = (size + blockSize - 1) / blockSize
+            val weak = ArrayList<Int>(count)
+            val strong = ArrayList<String>(count)
+            val md5 = MessageDigest.getInstance("MD5")
+            for (block in 0 until count) {
+                val from = content.position() + block * blockSize
+                val to = minOf(from + blockSize, content.limit())
+                weak.add(weakChecksum(content, from, to))
+                md5.update(content.duplicate().position(from).limit(to))
+                strong.add(md5.digest().take(STRONG_BYTES).joinToString("") { "%02x".format(it) })
+            }
+            return BlockSignatures(blockSize, weak, strong)
+        }
+
+        fun weakChecksum(content: ByteBuffer, from: Int, to: Int): Int {
+            var a = 0
+            var b = 0
+            for (i in from until to) {
+                val x = content.get(i).toInt() and 0xff
+                a += x
+                b += (to - i) * x
+            }
+            return (a and 0xffff) or (b shl 16)
+        }
+    }
+}
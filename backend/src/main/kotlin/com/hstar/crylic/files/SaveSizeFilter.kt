@@ -0,0 +1,35 @@
+package com.hstar.crylic.files
+
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+
+// paths, hashes, block indexes and the json around them
+private const val ENVELOPE_BYTES = 4L * 1024 * 1024
+private val SAVE_PATH = Regex("^/projects/[^/]+/(files(/.*)?|sync)$")
+
+/**
+ * Refuses file saves and syncs whose body can't fit in max-save-bytes before the controllers bind it onto the heap.
+ * Contents are base64 in json, so a body may be 4/3 of max-save-bytes plus its envelope.
+ * Bodies without a content length could be any size and are refused outright.
+ */
+@Component
+class SaveSizeFilter : OncePerRequestFilter() {
+    @Value("\${crylic.files.max-save-bytes:52428800}")
+    private var maxSaveBytes: Long = 52428800
+
+    override fun shouldNotFilter(request: HttpServletRequest) =
+            (request.method != "PUT" && request.method != "POST") || !SAVE_PATH.matches(request.servletPath)
+
+    override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, filterChain: FilterChain) {
+        val length = request.contentLengthLong
+        when {
+            length < 0 -> response.sendError(HttpServletResponse.SC_LENGTH_REQUIRED)
+            length > (maxSaveBytes + 2) / 3 * 4 + ENVELOPE_BYTES -> response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE)
+            else -> filterChain.doFilter(request, response)
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.hstar.crylic.gateway
+
+import com.fasterxml.jackson.annotation.JsonInclude
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+data class GatewayRequest(val query: String, val variables: Map<String, Any?>? = null, val operationName: String? = null)
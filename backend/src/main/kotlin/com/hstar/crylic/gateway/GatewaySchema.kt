@@ -0,0 +1,168 @@
+package com.hstar.crylic.gateway
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.github.benmanes.caffeine.cache.LoadingCache
+import graphql.introspection.IntrospectionResultToSchema
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.EnumTypeDefinition
+import graphql.language.FieldDefinition
+import graphql.language.InputObjectTypeDefinition
+import graphql.language.InterfaceTypeDefinition
+import graphql.language.ListType
+import graphql.language.NonNullType
+import graphql.language.ObjectTypeDefinition
+import graphql.language.OperationDefinition.Operation
+import graphql.language.OperationTypeDefinition
+import graphql.language.SchemaDefinition
+import graphql.language.Type
+import graphql.language.TypeDefinition
+import graphql.language.TypeName
+import graphql.language.UnionTypeDefinition
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.SchemaParser
+import graphql.schema.idl.UnExecutableSchemaGenerator
+import java.util.ArrayDeque
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.core.io.ClassPathResource
+import org.springframework.stereotype.Component
+
+private const val BACKEND_SCHEMA = "qlschema/sqapi.graphqls"
+private val BACKEND_ROOTS = mapOf(Operation.QUERY to "Query", Operation.MUTATION to "Mutation")
+private val DEFAULT_HASURA_ROOTS = mapOf(Operation.QUERY to "query_root", Operation.MUTATION to "mutation_root")
+private val BUILT_IN_SCALARS = setOf("String", "Int", "Float", "Boolean", "ID")
+
+enum class Target { BACKEND, HASURA, GATEWAY }
+
+class StitchedSchema(val schema: GraphQLSchema, private val backendFields: Map<Operation, Set<String>>) {
+    // introspection results only depend on the schema, so they live as long as it does
+    val introspectionResults: Cache<GatewayRequest, Map<String, Any?>> = Caffeine.newBuilder().maximumSize(100).build()
+
+    fun target(operation: Operation, field: String) = when {
+        field.startsWith("__") -> Target.GATEWAY
+        field in backendFields[operation].orEmpty() -> Target.BACKEND
+        else -> Target.HASURA
+    }
+}
+
+/**
+ * Hasura's schema with the backend's root fields stitched in, used to validate gateway requests and answer introspection.
+ * Backend fields hasura doesn't know are added along with the types they need.
+ * Fields hasura already exposes with the same signature are its remote schema proxies of the backend and are resolved here directly,
+ * any other name clash is left to hasura.
+ */
+@Component
+class GatewaySchema {
+    private val logger = LoggerFactory.getLogger(GatewaySchema::class.java)
+
+    @Autowired
+    private lateinit var hasuraClient: HasuraClient
+    @Value("\${crylic.gateway.schema-refresh-seconds:300}")
+    private var refreshSeconds: Long = 300
+
+    // single entry, refreshed in the background so hasura metadata changes are picked up without blocking requests
+    private lateinit var schema: LoadingCache<Unit, StitchedSchema>
+
+    @PostConstruct
+    fun init() {
+        schema = Caffeine.newBuilder()
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                .build { stitch() }
+    }
+
+    fun get(): StitchedSchema = schema.get(Unit)!!
+
+    private fun stitch(): StitchedSchema {
+        val hasura = IntrospectionResultToSchema().createSchemaDefinition(hasuraClient.introspect())
+        val backend = ClassPathResource(BACKEND_SCHEMA).inputStream.reader().use { Parser().parseDocument(it.readText()) }
+        val backendTypes = backend.getDefinitionsOfType(TypeDefinition::class.java).associateBy { it.name }
+
+        var schemaDefinition = hasura.getDefinitionsOfType(SchemaDefinition::class.java).single()
+        val types = hasura.definitions.filterIsInstance<TypeDefinition<*>>().associateByTo(LinkedHashMap()) { it.name }
+        val backendFields = HashMap<Operation, Set<String>>()
+
+        BACKEND_ROOTS.forEach { (operation, backendRootName) ->
+            val backendRoot = backendTypes[backendRootName] as? ObjectTypeDefinition ?: return@forEach
+            val rootName = schemaDefinition.operationTypeDefinitions.find { it.name == operation.name.toLowerCase() }?.typeName?.name
+                    ?: DEFAULT_HASURA_ROOTS.getValue(operation).also { name ->
+                        schemaDefinition = schemaDefinition.transform {
+                            it.operationTypeDefinitions(schemaDefinition.operationTypeDefinitions + OperationTypeDefinition(operation.name.toLowerCase(), TypeName(name)))
+                        }
+                    }
+            val root = types[rootName] as? ObjectTypeDefinition ?: ObjectTypeDefinition(rootName)
+            val owned = HashSet<String>()
+            val added = ArrayList<FieldDefinition>()
+
+            backendRoot.fieldDefinitions.forEach { field ->
+                val existing = root.fieldDefinitions.find { it.name == field.name }
+                when {
+                    existing == null && addTypes(field, backendTypes, types) -> {
+                        owned.add(field.name)
+                        added.add(field)
+                    }
+                    existing != null && signature(existing) == signature(field) -> owned.add(field.name)
+                    else -> logger.warn("Backend field $backendRootName.${field.name} conflicts with hasura's schema and won't be served by the gateway")
+                }
+            }
+            types[rootName] = root.transform { it.fieldDefinitions(root.fieldDefinitions + added) }
+            backendFields[operation] = owned
+        }
+
+        val others = hasura.definitions.filter { it !is TypeDefinition<*> && it !is SchemaDefinition }
+        val registry = SchemaParser().buildRegistry(Document(others + schemaDefinition + types.values))
+        return StitchedSchema(UnExecutableSchemaGenerator.makeUnExecutableSchema(registry), backendFields)
+    }
+
+    // copies the backend types a field needs into the stitched types, false if one clashes with a different hasura type
+    private fun addTypes(field: FieldDefinition, backendTypes: Map<String, TypeDefinition<*>>, types: MutableMap<String, TypeDefinition<*>>): Boolean {
+        val needed = LinkedHashMap<String, TypeDefinition<*>>()
+        val pending = ArrayDeque(referencedTypes(field))
+        while (pending.isNotEmpty()) {
+            val name = pending.removeFirst()
+            if (name in BUILT_IN_SCALARS || name in needed) continue
+            val definition = backendTypes[name] ?: return false
+            val existing = types[name]
+            if (existing != null) {
+                if (existing.javaClass != definition.javaClass || !memberNames(existing).containsAll(memberNames(definition))) return false
+                continue
+            }
+            needed[name] = definition
+            pending.addAll(referencedTypes(definition))
+        }
+        types.putAll(needed)
+        return true
+    }
+
+    private fun referencedTypes(node: Any): List<String> = when (node) {
+        is FieldDefinition -> listOf(typeName(node.type)) + node.inputValueDefinitions.map { typeName(it.type) }
+        is ObjectTypeDefinition -> node.fieldDefinitions.flatMap { referencedTypes(it) } + node.implements.map { typeName(it) }
+        is InterfaceTypeDefinition -> node.fieldDefinitions.flatMap { referencedTypes(it) }
+        is InputObjectTypeDefinition -> node.inputValueDefinitions.map { typeName(it.type) }
+        is UnionTypeDefinition -> node.memberTypes.map { typeName(it) }
+        else -> emptyList()
+    }
+
+    private fun memberNames(definition: TypeDefinition<*>): Set<String> = when (definition) {
+        is ObjectTypeDefinition -> definition.fieldDefinitions.map { it.name }
+        is InterfaceTypeDefinition -> definition.fieldDefinitions.map { it.name }
+        is InputObjectTypeDefinition -> definition.inputValueDefinitions.map { it.name }
+        is EnumTypeDefinition -> definition.enumValueDefinitions.map { it.name }
+        is UnionTypeDefinition -> definition.memberTypes.map { typeName(it) }
+        else -> emptyList()
+    }.toSet()
+
+    private fun typeName(type: Type<*>): String = when (type) {
+        is NonNullType -> typeName(type.type)
+        is ListType -> typeName(type.type)
+        else -> (type as TypeName).name
+    }
+
+    private fun signature(field: FieldDefinition) =
+            AstPrinter.printAstCompact(field.type) + field.inputValueDefinitions.map { "${it.name}:${AstPrinter.printAstCompact(it.type)}" }.sorted()
+}
@@ -0,0 +1,143 @@
+package com.hstar.crylic.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.SerializationFeature
+import com.hstar.crylic.cache.INTEGRATION_ENTITY
+import com.hstar.crylic.cache.PROJECT_ENTITY
+import com.hstar.crylic.cache.ResultCache
+import com.hstar.crylic.cache.USER_ENTITY
+import com.hstar.crylic.cache.cacheTag
+import com.hstar.crylic.utils.getCurrentUser
+import com.hstar.crylic.utils.sha256Hex
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.language.OperationDefinition
+import graphql.parser.InvalidSyntaxException
+import graphql.parser.Parser
+import graphql.servlet.core.GraphQLObjectMapper
+import graphql.servlet.core.GraphQLQueryInvoker
+import graphql.servlet.core.internal.GraphQLRequest
+import graphql.servlet.input.GraphQLInvocationInputFactory
+import graphql.validation.Validator
+import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Service
+
+private const val HASURA_TIMEOUT_SECONDS = 30L
+private const val HASURA_CACHE_PREFIX = "hasura:"
+// hasura results aren't traced back to entities, so they depend on all of the user's data
+private val HASURA_ENTITIES = listOf(USER_ENTITY, PROJECT_ENTITY, INTEGRATION_ENTITY)
+
+/**
+ * Serves operations over the stitched backend + hasura schema.
+ * Each operation is validated against the stitched schema, planned into per service sub-requests and the results merged back in field order.
+ * Backend fields run in-process on the request thread while hasura's sub-request is in flight,
+ * hasura query results are cached per user through [ResultCache].
+ */
+@Service
+class GatewayService {
+    private val logger = LoggerFactory.getLogger(GatewayService::class.java)
+
+    @Autowired
+    private lateinit var gatewaySchema: GatewaySchema
+    @Autowired
+    private lateinit var hasuraClient: HasuraClient
+    @Autowired
+    private lateinit var resultCache: ResultCache
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+    @Autowired
+    private lateinit var invocationInputFactory: GraphQLInvocationInputFactory
+    @Autowired
+    private lateinit var queryInvoker: GraphQLQueryInvoker
+    @Autowired
+    private lateinit var graphQLObjectMapper: GraphQLObjectMapper
+    @Value("\${crylic.gateway.hasura-cache.enabled:false}")
+    private var cacheEnabled: Boolean = false
+
+    private val canonicalMapper by lazy { objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true) }
+
+    fun execute(request: GatewayRequest, authorization: String, useCache: Boolean, servletRequest: HttpServletRequest, servletResponse: HttpServletResponse): Map<String, Any?> {
+        val schema = gatewaySchema.get()
+        val document = try {
+            Parser().parseDocument(request.query)
+        } catch (e: InvalidSyntaxException) {
+            return mapOf("errors" to listOf(e.toInvalidSyntaxError().toSpecification()))
+        }
+        val validationErrors = Validator().validateDocument(schema.schema, document)
+        if (validationErrors.isNotEmpty()) return mapOf("errors" to validationErrors.map { it.toSpecification() })
+        val plan = try {
+            QueryPlanner.plan(document, request, schema)
+        } catch (e: GatewayException) {
+            return mapOf("errors" to listOf(mapOf("message" to e.message)))
+        }
+
+        val userId = getCurrentUser()
+        val data = HashMap<String, Any?>()
+        val errors = ArrayList<Any?>()
+        plan.steps.forEach { step ->
+            // hasura is called first so it's in flight while the in-process sub-requests run
+            val pending = step.filter { it.target == Target.HASURA }.map { fetchHasura(it, plan.operation, userId, authorization, useCache) }
+            val results = step.filter { it.target != Target.HASURA }.map { executeLocally(it, schema, servletRequest, servletResponse) } +
+                    pending.map { awaitHasura(it) }
+            results.forEach { result ->
+                (result["data"] as? Map<*, *>)?.forEach { (key, value) -> data[key as String] = value }
+                (result["errors"] as? List<*>)?.let { errors.addAll(it) }
+            }
+        }
+        if (plan.operation == OperationDefinition.Operation.MUTATION && plan.steps.flatten().any { it.target == Target.HASURA }) {
+            HASURA_ENTITIES.forEach { resultCache.invalidate(cacheTag(it, userId)) }
+        }
+
+        val result = LinkedHashMap<String, Any?>()
+        if (errors.isNotEmpty()) result["errors"] = errors
+        result["data"] = plan.responseKeys.associateWithTo(LinkedHashMap()) { data[it] }
+        return result
+    }
+
+    private fun executeLocally(subRequest: SubRequest, schema: StitchedSchema, servletRequest: HttpServletRequest, servletResponse: HttpServletResponse): Map<String, Any?> {
+        val request = subRequest.request
+        return if (subRequest.target == Target.BACKEND) {
+            val input = invocationInputFactory.create(GraphQLRequest(request.query, request.variables.orEmpty(), request.operationName), servletRequest, servletResponse)
+            graphQLObjectMapper.createResultFromExecutionResult(queryInvoker.query(input))
+        } else {
+            // introspection, answered from the stitched schema itself
+            schema.introspectionResults.getIfPresent(request) ?: GraphQL.newGraphQL(schema.schema).build().execute(ExecutionInput.newExecutionInput()
+                    .query(request.query)
+                    .operationName(request.operationName)
+                    .variables(request.variables.orEmpty())
+                    .build())
+                    .also { if (it.errors.isEmpty()) schema.introspectionResults.put(request, it.toSpecification()) }
+                    .toSpecification()
+        }
+    }
+
+    private fun fetchHasura(subRequest: SubRequest, operation: OperationDefinition.Operation, userId: UUID, authorization: String, useCache: Boolean): CompletableFuture<String> {
+        if (!cacheEnabled || operation != OperationDefinition.Operation.QUERY) return hasuraClient.execute(subRequest.request, authorization)
+
+        val key = HASURA_CACHE_PREFIX + userId + ":" + sha256Hex(canonicalMapper.writeValueAsString(subRequest.request))
+        if (useCache) resultCache.get(key)?.let { return CompletableFuture.completedFuture(it) }
+        val tags = HASURA_ENTITIES.map { cacheTag(it, userId) }.toSet()
+        val generations = resultCache.generations(tags)
+        return hasuraClient.execute(subRequest.request, authorization).thenApply { body ->
+            if (objectMapper.readTree(body).path("errors").isMissingNode) {
+                resultCache.put(key, body, tags, generations)
+            }
+            body
+        }
+    }
+
+    private fun awaitHasura(response: CompletableFuture<String>): Map<String, Any?> = try {
+        @Suppress("UNCHECKED_CAST")
+        objectMapper.readValue(response.get(HASURA_TIMEOUT_SECONDS, TimeUnit.SECONDS), Map::class.java) as Map<String, Any?>
+    } catch (e: Exception) {
+        logger.warn("Hasura sub-request failed", e)
+        mapOf("errors" to listOf(mapOf("message" to "Hasura request failed")))
+    }
+}
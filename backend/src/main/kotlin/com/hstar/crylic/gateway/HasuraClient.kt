@@ -0,0 +1,47 @@
+package com.hstar.crylic.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import graphql.introspection.IntrospectionQuery
+import java.util.concurrent.CompletableFuture
+import kong.unirest.Unirest
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+
+private const val ADMIN_SECRET_HEADER = "x-hasura-admin-secret"
+private const val ROLE_HEADER = "x-hasura-role"
+private const val USER_ROLE = "user"
+
+@Component
+class HasuraClient {
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+    @Value("\${crylic.gateway.hasura-url:http://hasura/v1/graphql}")
+    private lateinit var url: String
+    @Value("\${crylic.gateway.hasura-admin-secret:}")
+    private lateinit var adminSecret: String
+
+    // hasura's schema as the user role sees it
+    fun introspect(): Map<String, Any?> {
+        val response = objectMapper.readValue(
+                post(GatewayRequest(IntrospectionQuery.INTROSPECTION_QUERY), mapOf(ADMIN_SECRET_HEADER to adminSecret, ROLE_HEADER to USER_ROLE)).get(),
+                Map::class.java)
+        @Suppress("UNCHECKED_CAST")
+        return response["data"] as? Map<String, Any?> ?: throw IllegalStateException("Hasura introspection failed: ${response["errors"]}")
+    }
+
+    // runs the request with the caller's token so hasura applies their permissions, completes with the raw response body
+    fun execute(request: GatewayRequest, authorization: String) = post(request, mapOf(HttpHeaders.AUTHORIZATION to authorization))
+
+    private fun post(request: GatewayRequest, headers: Map<String, String>): CompletableFuture<String> = Unirest.post(url)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .headers(headers)
+            .body(objectMapper.writeValueAsString(request))
+            .asStringAsync()
+            .thenApply {
+                if (!it.isSuccess) throw IllegalStateException("Hasura responded with ${it.status}")
+                it.body
+            }
+}
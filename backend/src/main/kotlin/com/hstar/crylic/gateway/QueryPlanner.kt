@@ -0,0 +1,97 @@
+package com.hstar.crylic.gateway
+
+import graphql.language.AstPrinter
+import graphql.language.Directive
+import graphql.language.Document
+import graphql.language.Field
+import graphql.language.FragmentDefinition
+import graphql.language.FragmentSpread
+import graphql.language.InlineFragment
+import graphql.language.Node
+import graphql.language.OperationDefinition
+import graphql.language.SelectionSet
+import graphql.language.VariableReference
+
+class SubRequest(val target: Target, val request: GatewayRequest, val responseKeys: List<String>)
+
+/**
+ * Sub-requests in the order they have to run, the requests within a step are independent of each other.
+ */
+class QueryPlan(val operation: OperationDefinition.Operation, val steps: List<List<SubRequest>>, val responseKeys: List<String>)
+
+class GatewayException(message: String) : Exception(message)
+
+/**
+ * Splits an operation into one sub-request per service owning its root fields.
+ * Queries run as a single parallel step, mutation fields keep their serial order so consecutive fields for the same service are batched.
+ */
+object QueryPlanner {
+    fun plan(document: Document, request: GatewayRequest, schema: StitchedSchema): QueryPlan {
+        val operations = document.getDefinitionsOfType(OperationDefinition::class.java)
+        val operation = (if (request.operationName == null) operations.singleOrNull() else operations.find { it.name == request.operationName })
+                ?: throw GatewayException("Unknown operation ${request.operationName ?: "(unnamed)"}")
+        if (operation.operation == OperationDefinition.Operation.SUBSCRIPTION) throw GatewayException("Subscriptions aren't supported by the gateway")
+
+        val fragments = document.getDefinitionsOfType(FragmentDefinition::class.java).associateBy { it.name }
+        val fields = rootFields(operation.selectionSet, emptyList(), fragments)
+        val groups = if (operation.operation == OperationDefinition.Operation.MUTATION) {
+            fields.fold(ArrayList<Pair<Target, MutableList<Field>>>()) { runs, field ->
+                val target = schema.target(operation.operation, field.name)
+                if (runs.lastOrNull()?.first == target) runs.last().second.add(field) else runs.add(target to mutableListOf(field))
+                runs
+            }.map { listOf(it) }
+        } else {
+            listOf(fields.groupBy { schema.target(operation.operation, it.name) }.toList())
+        }
+
+        val steps = groups.map { step -> step.map { (target, targetFields) -> subRequest(target, operation, targetFields, fragments, request) } }
+        return QueryPlan(operation.operation, steps, fields.map { responseKey(it) }.distinct())
+    }
+
+    // root fields with any fragments they're spread through flattened away, fragment directives move onto the fields
+    private fun rootFields(selectionSet: SelectionSet, directives: List<Directive>, fragments: Map<String, FragmentDefinition>): List<Field> =
+            selectionSet.selections.flatMap { selection ->
+                when (selection) {
+                    is Field -> listOf(if (directives.isEmpty()) selection else selection.transform { it.directives(selection.directives + directives) })
+                    is InlineFragment -> rootFields(selection.selectionSet, directives + selection.directives, fragments)
+                    is FragmentSpread -> fragments[selection.name]?.let { rootFields(it.selectionSet, directives + selection.directives + it.directives, fragments) }.orEmpty()
+                    else -> emptyList()
+                }
+            }
+
+    private fun subRequest(
+        target: Target,
+        operation: OperationDefinition,
+        fields: List<Field>,
+        fragments: Map<String, FragmentDefinition>,
+        request: GatewayRequest
+    ): SubRequest {
+        val usedFragments = LinkedHashSet<String>()
+        val usedVariables = HashSet<String>()
+        fields.forEach { collect(it, fragments, usedFragments, usedVariables) }
+        operation.directives.forEach { collect(it, fragments, usedFragments, usedVariables) }
+
+        val subOperation = OperationDefinition.newOperationDefinition()
+                .name(operation.name)
+                .operation(operation.operation)
+                .variableDefinitions(operation.variableDefinitions.filter { it.name in usedVariables })
+                .directives(operation.directives)
+                .selectionSet(SelectionSet(fields))
+                .build()
+        val document = Document(listOf(subOperation) + usedFragments.mapNotNull { fragments[it] })
+        return SubRequest(
+                target,
+                GatewayRequest(AstPrinter.printAstCompact(document), request.variables?.filterKeys { it in usedVariables }, operation.name),
+                fields.map { responseKey(it) }.distinct())
+    }
+
+    private fun collect(node: Node<*>, fragments: Map<String, FragmentDefinition>, usedFragments: MutableSet<String>, usedVariables: MutableSet<String>) {
+        when (node) {
+            is FragmentSpread -> if (usedFragments.add(node.name)) fragments[node.name]?.let { collect(it, fragments, usedFragments, usedVariables) }
+            is VariableReference -> usedVariables.add(node.name)
+        }
+        node.children.forEach { collect(it as Node<*>, fragments, usedFragments, usedVariables) }
+    }
+
+    private fun responseKey(field: Field) = field.alias ?: field.name
+}
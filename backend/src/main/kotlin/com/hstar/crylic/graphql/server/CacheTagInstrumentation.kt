@@ -0,0 +1,51 @@
+package com.hstar.crylic.graphql.server
+
+import com.hstar.crylic.cache.INTEGRATION_ENTITY
+import com.hstar.crylic.cache.PROJECT_ENTITY
+import com.hstar.crylic.cache.USER_ENTITY
+import graphql.ExecutionResult
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.SimpleInstrumentationContext
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.schema.GraphQLTypeUtil
+import graphql.servlet.context.GraphQLServletContext
+import java.util.concurrent.CompletableFuture
+import org.springframework.stereotype.Component
+
+const val CACHE_ENTITIES_ATTRIBUTE = "crylic.graphql.cacheEntities"
+
+// graphql types and the entities their data is read from
+private val TYPE_ENTITIES = mapOf(
+        "AccountNode" to USER_ENTITY,
+        "ProjectNode" to PROJECT_ENTITY,
+        "ProjectConnection" to PROJECT_ENTITY,
+        "Github" to INTEGRATION_ENTITY
+)
+
+/**
+ * Records which entities a cacheable request touched, so its cached result can be invalidated by tag.
+ * Only active for requests the result cache filter marked with [CACHE_ENTITIES_ATTRIBUTE],
+ * the attribute is removed again if execution produced errors so the result isn't cached.
+ */
+@Component
+class CacheTagInstrumentation : SimpleInstrumentation() {
+    override fun beginFieldFetch(parameters: InstrumentationFieldFetchParameters): InstrumentationContext<Any> {
+        val entities = entities(parameters.executionContext.getContext())
+        val entity = TYPE_ENTITIES[GraphQLTypeUtil.unwrapAll(parameters.executionStepInfo.fieldDefinition.type).name]
+        if (entities != null && entity != null) entities.add(entity)
+        return SimpleInstrumentationContext.noOp()
+    }
+
+    override fun instrumentExecutionResult(executionResult: ExecutionResult, parameters: InstrumentationExecutionParameters): CompletableFuture<ExecutionResult> {
+        if (executionResult.errors.isNotEmpty()) {
+            (parameters.getContext<Any>() as? GraphQLServletContext)?.httpServletRequest?.removeAttribute(CACHE_ENTITIES_ATTRIBUTE)
+        }
+        return CompletableFuture.completedFuture(executionResult)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun entities(context: Any?) =
+            (context as? GraphQLServletContext)?.httpServletRequest?.getAttribute(CACHE_ENTITIES_ATTRIBUTE) as? MutableSet<String>
+}
@@ -1,4 +1,10 @@
 package com.hstar.crylic.graphql.server
 
+import com.hstar.crylic.db.generated.tables.pojos.Project
+
 data class GithubProject(val name: String, val url: String, val primaryLanguage: String)
 data class Github(val name: String, val projects: List<GithubProject>)
+
+data class PageInfo(val hasNextPage: Boolean, val endCursor: String?)
+data class ProjectEdge(val cursor: String, val node: Project)
+data class ProjectConnection(val edges: List<ProjectEdge>, val pageInfo: PageInfo)
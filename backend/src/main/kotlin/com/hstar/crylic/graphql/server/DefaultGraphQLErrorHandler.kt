@@ -5,14 +5,18 @@ import graphql.GraphQLError
 import graphql.servlet.core.GenericGraphQLError
 import graphql.servlet.core.GraphQLErrorHandler
 import javax.validation.ConstraintViolationException
+import org.slf4j.LoggerFactory
 
 class DefaultGraphQLErrorHandler : GraphQLErrorHandler {
+    private val logger = LoggerFactory.getLogger(DefaultGraphQLErrorHandler::class.java)
+
     override fun processErrors(errors: List<GraphQLError>): List<GraphQLError> {
         return errors.map {
             if (it is ExceptionWhileDataFetching && it.exception is ConstraintViolationException) {
                 return@map GenericGraphQLError(it.message)
             }
-            println(it)
+            if (it is ExceptionWhileDataFetching) logger.error("Error while fetching ${it.path}", it.exception)
+            else logger.warn("GraphQL error: {}", it)
             GenericGraphQLError("An error occurred")
         }
     }
@@ -0,0 +1,134 @@
+package com.hstar.crylic.graphql.server
+
+import graphql.DeferredExecutionResult
+import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
+import graphql.GraphQL
+import graphql.servlet.core.GraphQLObjectMapper
+import graphql.servlet.core.GraphQLQueryInvoker
+import graphql.servlet.input.GraphQLInvocationInputFactory
+import java.io.OutputStream
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.http.HttpHeaders
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+
+private const val MULTIPART_MIXED = "multipart/mixed"
+private const val DEFER_TIMEOUT_SECONDS = 30L
+private val PART_HEADER = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n".toByteArray()
+private val PART_END = "\r\n-----\r\n".toByteArray()
+
+/**
+ * Serves /graphql requests that accept multipart/mixed as incremental responses,
+ * the initial payload is flushed right away and each @defer fragment follows as its own part.
+ */
+@Component
+class DeferredResponseFilter : OncePerRequestFilter() {
+    @Autowired
+    private lateinit var invocationInputFactory: GraphQLInvocationInputFactory
+    @Autowired
+    private lateinit var queryInvoker: GraphQLQueryInvoker
+    @Autowired
+    private lateinit var graphQLObjectMapper: GraphQLObjectMapper
+
+    override fun shouldNotFilter(request: HttpServletRequest) =
+            request.method != "POST" || request.servletPath != "/graphql" ||
+                    request.getHeader(HttpHeaders.ACCEPT)?.contains(MULTIPART_MIXED) != true
+
+    override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, filterChain: FilterChain) {
+        val graphQLRequest = try {
+            graphQLObjectMapper.readGraphQLRequest(request.inputStream)
+        } catch (e: Exception) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST)
+            return
+        }
+        val result = queryInvoker.query(invocationInputFactory.create(graphQLRequest, request, response))
+        @Suppress("UNCHECKED_CAST")
+        val deferred = result.extensions?.get(GraphQL.DEFERRED_RESULTS) as? Publisher<DeferredExecutionResult>
+
+        response.status = HttpServletResponse.SC_OK
+        response.contentType = "$MULTIPART_MIXED; boundary=\"-\""
+        val out = response.outputStream
+        writePart(out, graphQLObjectMapper.createResultFromExecutionResult(withoutDeferred(result)) + ("hasNext" to (deferred != null)))
+
+        if (deferred != null) {
+            val subscriber = PartSubscriber(out)
+            deferred.subscribe(subscriber)
+            try {
+                subscriber.done.get(DEFER_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            } catch (e: Exception) {
+                logger.warn("Deferred results did not complete", e)
+            } finally {
+                // fragments still running mustn't write once the response is finished, tomcat may hand the stream to another request
+                subscriber.close()
+            }
+            writePart(out, mapOf("hasNext" to false))
+        }
+        out.write(PART_END)
+        out.flush()
+    }
+
+    private fun withoutDeferred(result: ExecutionResult): ExecutionResult = ExecutionResultImpl.newExecutionResult()
+            .from(result)
+            .extensions(result.extensions?.minus(GraphQL.DEFERRED_RESULTS)?.takeIf { it.isNotEmpty() })
+            .build()
+
+    private fun writePart(out: OutputStream, payload: Map<String, Any?>) {
+        synchronized(out) {
+            out.write(PART_HEADER)
+            out.write(graphQLObjectMapper.jacksonMapper.writeValueAsBytes(payload))
+            out.flush()
+        }
+    }
+
+    private inner class PartSubscriber(private val out: OutputStream) : Subscriber<DeferredExecutionResult> {
+        val done = CompletableFuture<Unit>()
+        @Volatile
+        private var subscription: Subscription? = null
+        // written under out's lock, set before the final part is written
+        @Volatile
+        private var closed = false
+
+        override fun onSubscribe(s: Subscription) {
+            subscription = s
+            if (closed) s.cancel() else s.request(1)
+        }
+
+        override fun onNext(result: DeferredExecutionResult) {
+            val incremental = graphQLObjectMapper.createResultFromExecutionResult(result) + ("path" to result.path)
+            try {
+                synchronized(out) {
+                    if (closed) return
+                    writePart(out, mapOf("incremental" to listOf(incremental), "hasNext" to true))
+                }
+            } catch (e: Exception) {
+                // the client went away, there's no one left to send the rest to
+                subscription?.cancel()
+                done.completeExceptionally(e)
+                return
+            }
+            subscription?.request(1)
+        }
+
+        override fun onError(t: Throwable) {
+            done.completeExceptionally(t)
+        }
+
+        override fun onComplete() {
+            done.complete(Unit)
+        }
+
+        fun close() {
+            synchronized(out) { closed = true }
+            subscription?.cancel()
+        }
+    }
+}
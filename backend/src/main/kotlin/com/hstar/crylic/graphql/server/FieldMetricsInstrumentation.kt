@@ -0,0 +1,90 @@
+package com.hstar.crylic.graphql.server
+
+import graphql.ExecutionResult
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.SimpleInstrumentationContext
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import java.util.concurrent.CompletableFuture
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val OPERATION_TIMER = "graphql.operation"
+private const val OPERATION_ERRORS = "graphql.operation.errors"
+private const val OPERATION_RESULT_SIZE = "graphql.operation.result.size"
+private const val FIELD_TIMER = "graphql.field"
+
+/**
+ * Records per-operation and per-field latency histograms, error counts and result sizes.
+ * Meters are published through the actuator prometheus endpoint.
+ * Operation names come from the client, so only those listed in crylic.graphql.metrics.operations get their own series, the rest share "other".
+ */
+@Component
+class FieldMetricsInstrumentation : SimpleInstrumentation() {
+    @Autowired
+    private lateinit var registry: MeterRegistry
+    @Value("\${crylic.graphql.metrics.operations:}")
+    private var knownOperations: Set<String> = emptySet()
+
+    override fun beginExecution(parameters: InstrumentationExecutionParameters): InstrumentationContext<ExecutionResult> {
+        val sample = Timer.start(registry)
+        return SimpleInstrumentationContext.whenCompleted { result, exception ->
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                    .tag("operation", operationName(parameters))
+                    .tag("outcome", if (exception != null || result?.errors?.isNotEmpty() == true) "error" else "success")
+                    .publishPercentileHistogram()
+                    .register(registry))
+        }
+    }
+
+    override fun beginFieldFetch(parameters: InstrumentationFieldFetchParameters): InstrumentationContext<Any> {
+        // property lookups on already fetched objects aren't interesting and would dominate the meter count
+        if (parameters.isTrivialDataFetcher) return SimpleInstrumentationContext.noOp()
+
+        val stepInfo = parameters.executionStepInfo
+        val field = "${stepInfo.fieldContainer.name}.${stepInfo.fieldDefinition.name}"
+        val sample = Timer.start(registry)
+        return SimpleInstrumentationContext.whenCompleted { _, exception ->
+            sample.stop(Timer.builder(FIELD_TIMER)
+                    .tag("field", field)
+                    .tag("outcome", if (exception != null) "error" else "success")
+                    .publishPercentileHistogram()
+                    .register(registry))
+        }
+    }
+
+    override fun instrumentExecutionResult(executionResult: ExecutionResult, parameters: InstrumentationExecutionParameters): CompletableFuture<ExecutionResult> {
+        val operation = operationName(parameters)
+        executionResult.errors.forEach {
+            Counter.builder(OPERATION_ERRORS)
+                    .tag("operation", operation)
+                    .tag("type", it.errorType.toString())
+                    .register(registry).increment()
+        }
+        DistributionSummary.builder(OPERATION_RESULT_SIZE)
+                .baseUnit("values")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry).record(countValues(executionResult.getData<Any?>()).toDouble())
+        return CompletableFuture.completedFuture(executionResult)
+    }
+
+    private fun operationName(parameters: InstrumentationExecutionParameters) = when (val operation = parameters.operation) {
+        null -> "anonymous"
+        in knownOperations -> operation
+        else -> "other"
+    }
+
+    // number of values in the result tree, a cheap proxy for payload size that doesn't require serializing
+    private fun countValues(value: Any?): Int = when (value) {
+        is Map<*, *> -> value.values.sumBy { countValues(it) }
+        is Collection<*> -> value.sumBy { countValues(it) }
+        else -> 1
+    }
+}
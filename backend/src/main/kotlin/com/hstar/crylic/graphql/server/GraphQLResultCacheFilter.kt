@@ -0,0 +1,125 @@
+package com.hstar.crylic.graphql.server
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.SerializationFeature
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.cache.CACHE_ENTITIES
+import com.hstar.crylic.cache.ResultCache
+import com.hstar.crylic.cache.cacheTag
+import com.hstar.crylic.encoding.ResponseEncodings
+import com.hstar.crylic.utils.CachedBodyRequest
+import com.hstar.crylic.utils.getCurrentUserOrNull
+import com.hstar.crylic.utils.sha256Hex
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.servlet.core.GraphQLObjectMapper
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.core.Ordered
+import org.springframework.core.annotation.Order
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+import org.springframework.web.util.ContentCachingResponseWrapper
+
+/**
+ * Opt-in per user cache of graphql query results.
+ * Requests opt in by sending an apollo persisted query hash, results are keyed by (user, hash, operation + variables)
+ * and tagged with the entities [CacheTagInstrumentation] saw while executing them.
+ */
+@Component
+// runs ahead of StreamingResponseFilter so the streamed result can be captured
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+class GraphQLResultCacheFilter : OncePerRequestFilter() {
+    @Autowired
+    private lateinit var resultCache: ResultCache
+    @Autowired
+    private lateinit var graphQLObjectMapper: GraphQLObjectMapper
+    @Autowired
+    private lateinit var encodings: ResponseEncodings
+    @Value("\${crylic.graphql.result-cache.enabled:false}")
+    private var enabled: Boolean = false
+
+    private val canonicalMapper by lazy {
+        graphQLObjectMapper.jacksonMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+    }
+    // persisted query hash + operation name -> whether that operation is a query
+    private val queryOperations = Caffeine.newBuilder().maximumSize(1000).build<String, Boolean>()
+
+    override fun shouldNotFilter(request: HttpServletRequest) =
+            !enabled || request.method != "POST" || request.servletPath != "/graphql" ||
+                    request.getHeader(HttpHeaders.ACCEPT)?.contains("multipart/mixed") == true ||
+                    // only json bodies are cached
+                    encodings.negotiate(request.getHeader(HttpHeaders.ACCEPT)) != null
+
+    override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, filterChain: FilterChain) {
+        val userId = getCurrentUserOrNull() ?: return filterChain.doFilter(request, response)
+        val cachedRequest = CachedBodyRequest(request)
+        val key = cacheKey(userId, cachedRequest.body) ?: return filterChain.doFilter(cachedRequest, response)
+
+        if (request.getHeader(HttpHeaders.CACHE_CONTROL)?.contains("no-cache") != true) {
+            val cached = resultCache.get(key)
+            if (cached != null) {
+                response.status = HttpServletResponse.SC_OK
+                response.contentType = MediaType.APPLICATION_JSON_VALUE
+                response.characterEncoding = Charsets.UTF_8.name()
+                // the same request with a binary accept is answered in another encoding
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                response.setHeader("X-Cache", "HIT")
+                response.writer.write(cached)
+                return
+            }
+        }
+
+        // taken before execution so a mutation committing meanwhile keeps the result out of the cache
+        val generations = resultCache.generations(CACHE_ENTITIES.map { cacheTag(it, userId) })
+        val entities = ConcurrentHashMap.newKeySet<String>()
+        cachedRequest.setAttribute(CACHE_ENTITIES_ATTRIBUTE, entities)
+        val wrappedResponse = ContentCachingResponseWrapper(response)
+        wrappedResponse.setHeader("X-Cache", "MISS")
+        try {
+            filterChain.doFilter(cachedRequest, wrappedResponse)
+            // the attribute is dropped when execution had errors
+            if (wrappedResponse.status == HttpServletResponse.SC_OK && cachedRequest.getAttribute(CACHE_ENTITIES_ATTRIBUTE) != null) {
+                resultCache.put(key, String(wrappedResponse.contentAsByteArray, Charsets.UTF_8), entities.map { cacheTag(it, userId) }.toSet(), generations)
+            }
+        } finally {
+            wrappedResponse.copyBodyToResponse()
+        }
+    }
+
+    private fun cacheKey(userId: UUID, body: ByteArray): String? {
+        val request = try {
+            graphQLObjectMapper.jacksonMapper.readTree(body)
+        } catch (e: Exception) {
+            return null
+        }
+        if (!request.isObject) return null // batched
+
+        val hash = request.at("/extensions/persistedQuery/sha256Hash").textValue() ?: return null
+        val query = request.path("query").textValue() ?: return null
+        val operationName = request.path("operationName").textValue()
+        // the hash is only trusted as a key when it matches the query text
+        if (sha256Hex(query) != hash || !isQuery(hash, query, operationName)) return null
+
+        val variables = canonicalMapper.writeValueAsString(canonicalMapper.treeToValue(request.path("variables"), Any::class.java))
+        return "$userId:$hash:${sha256Hex("$operationName:$variables")}"
+    }
+
+    private fun isQuery(hash: String, query: String, operationName: String?) = queryOperations.get("$hash:$operationName") {
+        try {
+            val operations = Parser().parseDocument(query).getDefinitionsOfType(OperationDefinition::class.java)
+            val operation = if (operationName == null) operations.singleOrNull() else operations.find { it.name == operationName }
+            operation?.operation == OperationDefinition.Operation.QUERY
+        } catch (e: Exception) {
+            false
+        }
+    } == true
+}
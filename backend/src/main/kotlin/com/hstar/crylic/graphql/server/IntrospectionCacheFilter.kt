@@ -0,0 +1,126 @@
+package com.hstar.crylic.graphql.server
+
+import com.fasterxml.jackson.databind.SerializationFeature
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.encoding.ResponseEncodings
+import com.hstar.crylic.utils.CachedBodyRequest
+import com.hstar.crylic.utils.sha256Hex
+import graphql.language.Field
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.SchemaPrinter
+import graphql.servlet.core.GraphQLObjectMapper
+import graphql.servlet.core.GraphQLQueryInvoker
+import graphql.servlet.core.internal.GraphQLRequest
+import graphql.servlet.input.GraphQLInvocationInputFactory
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.Ordered
+import org.springframework.core.annotation.Order
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+
+private const val SDL_PATH = "/schema.graphql"
+private const val MAX_CACHED_RESULTS = 100L
+
+/**
+ * Serves introspection-only operations and the schema sdl (GET /graphql/schema.graphql) from pre-serialized bytes.
+ * The schema is fixed for the life of the process, so results are computed once and tagged with an ETag derived from the schema,
+ * clients revalidating with If-None-Match get a 304.
+ */
+@Component
+// runs ahead of the result cache and streaming filters
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+class IntrospectionCacheFilter : OncePerRequestFilter() {
+    @Autowired
+    private lateinit var schema: GraphQLSchema
+    @Autowired
+    private lateinit var invocationInputFactory: GraphQLInvocationInputFactory
+    @Autowired
+    private lateinit var queryInvoker: GraphQLQueryInvoker
+    @Autowired
+    private lateinit var graphQLObjectMapper: GraphQLObjectMapper
+    @Autowired
+    private lateinit var encodings: ResponseEncodings
+
+    private val sdl by lazy { SchemaPrinter().print(schema).toByteArray() }
+    private val schemaVersion by lazy { sha256Hex(sdl).take(16) }
+    private val canonicalMapper by lazy {
+        graphQLObjectMapper.jacksonMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+    }
+    // query text hash + operation name -> whether the operation only selects introspection fields
+    private val introspectionOperations = Caffeine.newBuilder().maximumSize(1000).build<String, Boolean>()
+    private val results = Caffeine.newBuilder().maximumSize(MAX_CACHED_RESULTS).build<String, ByteArray>()
+
+    override fun shouldNotFilter(request: HttpServletRequest) =
+            request.servletPath != "/graphql" || (request.method != "GET" && request.method != "POST") ||
+                    request.getHeader(HttpHeaders.ACCEPT)?.contains("multipart/mixed") == true
+
+    override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, filterChain: FilterChain) {
+        if (request.method == "GET" && request.pathInfo == SDL_PATH) {
+            return write(request, response, "text/plain;charset=UTF-8", "\"$schemaVersion\"", sdl)
+        }
+
+        val cachedRequest = if (request.method == "POST") request as? CachedBodyRequest ?: CachedBodyRequest(request) else request
+        val graphQLRequest = readRequest(cachedRequest)
+        if (graphQLRequest?.query == null || !isIntrospection(graphQLRequest.query, graphQLRequest.operationName)) {
+            return filterChain.doFilter(cachedRequest, response)
+        }
+
+        val binary = encodings.negotiate(request.getHeader(HttpHeaders.ACCEPT))
+        val key = sha256Hex(canonicalMapper.writeValueAsString(listOf(graphQLRequest.query, graphQLRequest.operationName, graphQLRequest.variables, binary?.first?.toString())))
+        val body = results.getIfPresent(key) ?: run {
+            val result = queryInvoker.query(invocationInputFactory.create(graphQLRequest, cachedRequest, response))
+            val bytes = (binary?.second ?: graphQLObjectMapper.jacksonMapper).writeValueAsBytes(graphQLObjectMapper.createResultFromExecutionResult(result))
+            // errors, e.g. an unknown __type, aren't worth keeping
+            if (result.errors.isEmpty()) results.put(key, bytes)
+            bytes
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+        write(request, response, binary?.first?.toString() ?: "${MediaType.APPLICATION_JSON_VALUE};charset=UTF-8", "\"$schemaVersion-${key.take(16)}\"", body)
+    }
+
+    private fun readRequest(request: HttpServletRequest): GraphQLRequest? = try {
+        if (request is CachedBodyRequest) {
+            graphQLObjectMapper.readGraphQLRequest(request.body.inputStream())
+        } else {
+            @Suppress("UNCHECKED_CAST")
+            val variables = request.getParameter("variables")?.let { graphQLObjectMapper.jacksonMapper.readValue(it, Map::class.java) as Map<String, Any?> }
+            GraphQLRequest(request.getParameter("query"), variables.orEmpty(), request.getParameter("operationName"))
+        }
+    } catch (e: Exception) {
+        // batches and malformed requests are left to the servlet
+        null
+    }
+
+    private fun isIntrospection(query: String, operationName: String?) = introspectionOperations.get("${sha256Hex(query)}:$operationName") {
+        try {
+            val operations = Parser().parseDocument(query).getDefinitionsOfType(OperationDefinition::class.java)
+            val operation = if (operationName == null) operations.singleOrNull() else operations.find { it.name == operationName }
+            operation?.operation == OperationDefinition.Operation.QUERY &&
+                    operation.selectionSet.selections.all { it is Field && it.name.startsWith("__") }
+        } catch (e: Exception) {
+            false
+        }
+    } == true
+
+    private fun write(request: HttpServletRequest, response: HttpServletResponse, contentType: String, etag: String, body: ByteArray) {
+        response.setHeader(HttpHeaders.ETAG, etag)
+        // clients may keep the result but have to revalidate it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache")
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH)?.split(",")?.any { it.trim() == etag } == true) {
+            response.status = HttpServletResponse.SC_NOT_MODIFIED
+            return
+        }
+        response.status = HttpServletResponse.SC_OK
+        response.contentType = contentType
+        response.setContentLength(body.size)
+        response.outputStream.write(body)
+    }
+}
@@ -2,6 +2,7 @@ package com.hstar.crylic.graphql.server
 
 import com.coxautodev.graphql.tools.GraphQLMutationResolver
 import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.model.ProjectInput
 import com.hstar.crylic.services.GithubService
 import com.hstar.crylic.services.ProjectService
 import com.hstar.crylic.utils.getCurrentUser
@@ -16,4 +17,6 @@ class Mutation : GraphQLMutationResolver {
     private lateinit var projectService: ProjectService
 
     fun addProject(name: String, githubUrl: String) = projectService.addGitHubProject(getCurrentUser(), name, githubUrl).id
+
+    fun addProjects(input: List<ProjectInput>) = projectService.addGitHubProjects(getCurrentUser(), input)
 }
@@ -3,10 +3,17 @@ package com.hstar.crylic.graphql.server
 import com.coxautodev.graphql.tools.GraphQLQueryResolver
 import com.hstar.crylic.services.GithubService
 import com.hstar.crylic.services.IntegrationService
+import com.hstar.crylic.services.ProjectService
+import com.hstar.crylic.services.UserService
 import com.hstar.crylic.utils.CurrentUser
+import com.hstar.crylic.utils.getCurrentUser
+import com.hstar.crylic.utils.getCurrentUserOrNull
 import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.function.Supplier
 import kotlin.collections.ArrayList
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor
 import org.springframework.stereotype.Component
 import org.springframework.validation.annotation.Validated
 
@@ -18,9 +25,24 @@ class Query : GraphQLQueryResolver {
     private lateinit var githubService: GithubService
     @Autowired
     private lateinit var integrationService: IntegrationService
+    @Autowired
+    private lateinit var projectService: ProjectService
+    @Autowired
+    private lateinit var userService: UserService
+    @Autowired
+    private lateinit var taskExecutor: ThreadPoolTaskExecutor
+
+    // null for anonymous callers rather than an error, the field is nullable
+    fun me() = getCurrentUserOrNull()?.let { userService.getUser(it) }
+
+    fun projectByGithubUrl(url: String) = projectService.findGitHubProject(getCurrentUser(), url)
+
+    // resolved off the request thread so a deferred github fragment doesn't hold back the initial payload
+    fun github(@CurrentUser userId: String): CompletableFuture<Github?> =
+            CompletableFuture.supplyAsync(Supplier { fetchGithub(UUID.fromString(userId)) }, taskExecutor)
 
-    fun github(@CurrentUser userId: String): Github? {
-        val integration = integrationService.getIntegration(UUID.fromString(userId)) ?: return null
+    private fun fetchGithub(userId: UUID): Github? {
+        val integration = integrationService.getIntegration(userId, "github") ?: return null
         val response = githubService.getProjectData(integration.token)
         val viewer = response.getJSONObject("data").getJSONObject("viewer")
         val repos = viewer.getJSONObject("repositories").getJSONArray("nodes")
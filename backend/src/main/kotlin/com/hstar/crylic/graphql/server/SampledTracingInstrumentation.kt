@@ -0,0 +1,55 @@
+package com.hstar.crylic.graphql.server
+
+import graphql.ExecutionResult
+import graphql.execution.instrumentation.InstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.SimpleInstrumentationContext
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters
+import graphql.execution.instrumentation.tracing.TracingInstrumentation
+import graphql.language.Document
+import graphql.servlet.context.GraphQLServletContext
+import graphql.validation.ValidationError
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ThreadLocalRandom
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+const val TRACING_HEADER = "X-Apollo-Tracing"
+
+/**
+ * Adds apollo tracing output to a sample of requests, or to any request sending the tracing header.
+ * Unsampled requests don't pay for the per-field bookkeeping.
+ */
+@Component
+class SampledTracingInstrumentation : SimpleInstrumentation() {
+    @Value("\${crylic.graphql.tracing.sample-rate:0.0}")
+    private var sampleRate: Double = 0.0
+
+    private val tracing = TracingInstrumentation()
+
+    override fun createState(parameters: InstrumentationCreateStateParameters): InstrumentationState? {
+        val request = (parameters.executionInput.context as? GraphQLServletContext)?.httpServletRequest
+        val sampled = request?.getHeader(TRACING_HEADER) != null || ThreadLocalRandom.current().nextDouble() < sampleRate
+        return if (sampled) tracing.createState() else null
+    }
+
+    override fun beginParse(parameters: InstrumentationExecutionParameters): InstrumentationContext<Document> =
+            if (parameters.getInstrumentationState<InstrumentationState?>() == null) SimpleInstrumentationContext.noOp()
+            else tracing.beginParse(parameters)
+
+    override fun beginValidation(parameters: InstrumentationValidationParameters): InstrumentationContext<List<ValidationError>> =
+            if (parameters.getInstrumentationState<InstrumentationState?>() == null) SimpleInstrumentationContext.noOp()
+            else tracing.beginValidation(parameters)
+
+    override fun beginFieldFetch(parameters: InstrumentationFieldFetchParameters): InstrumentationContext<Any> =
+            if (parameters.getInstrumentationState<InstrumentationState?>() == null) SimpleInstrumentationContext.noOp()
+            else tracing.beginFieldFetch(parameters)
+
+    override fun instrumentExecutionResult(executionResult: ExecutionResult, parameters: InstrumentationExecutionParameters): CompletableFuture<ExecutionResult> =
+            if (parameters.getInstrumentationState<InstrumentationState?>() == null) CompletableFuture.completedFuture(executionResult)
+            else tracing.instrumentExecutionResult(executionResult, parameters)
+}
@@ -0,0 +1,73 @@
+package com.hstar.crylic.graphql.server
+
+import com.fasterxml.jackson.core.JsonEncoding
+import com.fasterxml.jackson.core.JsonGenerator
+import com.hstar.crylic.encoding.ResponseEncodings
+import com.hstar.crylic.utils.CachedBodyRequest
+import graphql.servlet.core.GraphQLObjectMapper
+import graphql.servlet.core.GraphQLQueryInvoker
+import graphql.servlet.input.GraphQLInvocationInputFactory
+import javax.servlet.FilterChain
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.core.Ordered
+import org.springframework.core.annotation.Order
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+import org.springframework.web.filter.OncePerRequestFilter
+
+/**
+ * Serializes /graphql results straight onto the response stream.
+ * The servlet renders the whole result to a String and then to bytes to set a content length,
+ * here the only copy is the result tree itself and bytes go out as soon as the generator's buffer fills.
+ * Clients accepting cbor or msgpack get the result in that encoding, which the servlet can't produce, so those are handled even with streaming disabled.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+class StreamingResponseFilter : OncePerRequestFilter() {
+    @Autowired
+    private lateinit var invocationInputFactory: GraphQLInvocationInputFactory
+    @Autowired
+    private lateinit var queryInvoker: GraphQLQueryInvoker
+    @Autowired
+    private lateinit var graphQLObjectMapper: GraphQLObjectMapper
+    @Autowired
+    private lateinit var encodings: ResponseEncodings
+    @Value("\${crylic.graphql.streaming-response.enabled:false}")
+    private var enabled: Boolean = false
+
+    override fun shouldNotFilter(request: HttpServletRequest) =
+            request.method != "POST" || request.servletPath != "/graphql" ||
+                    request.getHeader(HttpHeaders.ACCEPT)?.contains("multipart/mixed") == true ||
+                    (!enabled && encodings.negotiate(request.getHeader(HttpHeaders.ACCEPT)) == null)
+
+    override fun doFilterInternal(request: HttpServletRequest, response: HttpServletResponse, filterChain: FilterChain) {
+        val cachedRequest = request as? CachedBodyRequest ?: CachedBodyRequest(request)
+        // batches and anything unparseable are left to the servlet
+        val graphQLRequest = try {
+            graphQLObjectMapper.readGraphQLRequest(cachedRequest.body.inputStream())
+        } catch (e: Exception) {
+            return filterChain.doFilter(cachedRequest, response)
+        }
+        val result = queryInvoker.query(invocationInputFactory.create(graphQLRequest, cachedRequest, response))
+
+        val binary = encodings.negotiate(request.getHeader(HttpHeaders.ACCEPT))
+        response.status = HttpServletResponse.SC_OK
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+        if (binary != null) {
+            response.contentType = binary.first.toString()
+        } else {
+            response.contentType = MediaType.APPLICATION_JSON_VALUE
+            response.characterEncoding = Charsets.UTF_8.name()
+        }
+        val mapper = binary?.second ?: graphQLObjectMapper.jacksonMapper
+        mapper.factory.createGenerator(response.outputStream, JsonEncoding.UTF8).use {
+            // the servlet container owns the output stream
+            it.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            mapper.writeValue(it, graphQLObjectMapper.createResultFromExecutionResult(result))
+        }
+    }
+}
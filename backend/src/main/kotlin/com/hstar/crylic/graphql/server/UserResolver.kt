@@ -0,0 +1,29 @@
+package com.hstar.crylic.graphql.server
+
+import com.coxautodev.graphql.tools.GraphQLResolver
+import com.hstar.crylic.db.generated.tables.pojos.User
+import com.hstar.crylic.model.ProjectCursor
+import com.hstar.crylic.services.ProjectService
+import java.util.concurrent.CompletableFuture
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+private const val DEFAULT_PAGE_SIZE = 20
+private const val MAX_PAGE_SIZE = 100
+
+@Component
+@Suppress("unused")
+class UserResolver : GraphQLResolver<User> {
+    @Autowired
+    private lateinit var projectService: ProjectService
+
+    // completes off the request thread when projects are read over r2dbc
+    fun projects(user: User, first: Int?, after: String?): CompletableFuture<ProjectConnection> {
+        val limit = (first ?: DEFAULT_PAGE_SIZE).coerceIn(1, MAX_PAGE_SIZE)
+        // fetch one extra row to know whether there's another page
+        return projectService.listProjectsAsync(user.id, limit + 1, after?.let { ProjectCursor.decode(it) }).collectList().map { page ->
+            val edges = page.take(limit).map { ProjectEdge(ProjectCursor(it.createdAt, it.id).encode(), it) }
+            ProjectConnection(edges, PageInfo(page.size > limit, edges.lastOrNull()?.cursor))
+        }.toFuture()
+    }
+}
@@ -0,0 +1,178 @@
+package com.hstar.crylic.jobs
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.hstar.crylic.db.PgNotificationListener
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.records.JobRecord
+import io.micrometer.core.instrument.MeterRegistry
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.Semaphore
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.jooq.DSLContext
+import org.jooq.Field
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val CHANNEL = "job"
+private const val MAX_ERROR_LENGTH = 2000
+
+private fun millisFromNow(millis: Long): Field<OffsetDateTime> =
+        DSL.field("now() + {0} * interval '1 millisecond'", SQLDataType.TIMESTAMPWITHTIMEZONE, DSL.`val`(millis))
+
+/**
+ * Runs "Job" rows on a fixed pool of worker threads, woken by the job insert trigger's notification with a slow poll as a backstop.
+ * Jobs are claimed in batches of up to the number of idle workers with FOR UPDATE SKIP LOCKED, so instances never claim the same job.
+ * Claiming pushes run_at out by the lease and bumps attempts instead of holding a transaction open,
+ * a worker that dies mid-job leaves it to be claimed again once the lease runs out, so the lease has to outlast the longest job.
+ * Failed jobs are retried with exponential backoff until they run out of attempts.
+ */
+@Component
+class JobWorker {
+    private val logger = LoggerFactory.getLogger(JobWorker::class.java)
+
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+    @Autowired
+    private lateinit var notificationListener: PgNotificationListener
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Autowired(required = false)
+    private var handlers: List<JobHandler<*>> = emptyList()
+    @Value("\${crylic.jobs.worker.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.jobs.worker.threads:4}")
+    private var threads: Int = 4
+    @Value("\${crylic.jobs.worker.poll-seconds:30}")
+    private var pollSeconds: Long = 30
+    @Value("\${crylic.jobs.lease-seconds:300}")
+    private var leaseSeconds: Long = 300
+    @Value("\${crylic.jobs.max-attempts:10}")
+    private var maxAttempts: Int = 10
+    @Value("\${crylic.jobs.backoff-seconds:10}")
+    private var backoffSeconds: Long = 10
+    @Value("\${crylic.jobs.max-backoff-seconds:3600}")
+    private var maxBackoffSeconds: Long = 3600
+
+    private val dispatcher = Executors.newSingleThreadScheduledExecutor { Thread(it, "job-dispatcher").apply { isDaemon = true } }
+    private lateinit var workers: ExecutorService
+    // one permit per idle worker, jobs are only claimed when there's a worker to run them
+    private lateinit var idle: Semaphore
+    // set while a dispatch is queued, wake ups arriving meanwhile are covered by it
+    private val pending = AtomicBoolean()
+    private var nextWake: ScheduledFuture<*>? = null
+    private lateinit var handlersByType: Map<String, JobHandler<*>>
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        handlersByType = handlers.associateBy { it.type.name }
+        workers = Executors.newFixedThreadPool(threads) { Thread(it, "job-worker").apply { isDaemon = true } }
+        idle = Semaphore(threads)
+        notificationListener.subscribe(CHANNEL, ::wake) { wake() }
+        dispatcher.scheduleWithFixedDelay(::wake, 0, pollSeconds, TimeUnit.SECONDS)
+    }
+
+    @PreDestroy
+    fun stop() {
+        dispatcher.shutdownNow()
+        if (::workers.isInitialized) workers.shutdownNow()
+    }
+
+    private fun wake() {
+        if (pending.compareAndSet(false, true)) dispatcher.execute(::dispatch)
+    }
+
+    private fun dispatch() {
+        pending.set(false)
+        if (handlersByType.isEmpty()) return
+        try {
+            while (true) {
+                // a finishing job wakes the dispatcher again
+                val free = idle.availablePermits()
+                if (free == 0) return
+                val jobs = claim(free)
+                jobs.forEach { job ->
+                    idle.acquire()
+                    workers.execute { run(job) }
+                }
+                if (jobs.size < free) break
+            }
+            scheduleNextWake()
+        } catch (e: Exception) {
+            logger.warn("Job dispatch failed", e)
+        }
+    }
+
+    private fun claim(limit: Int): List<JobRecord> {
+        val claimable = DSL.select(Tables.JOB.ID).from(Tables.JOB)
+                .where(Tables.JOB.FAILED_AT.isNull, Tables.JOB.RUN_AT.le(DSL.currentOffsetDateTime()), Tables.JOB.TYPE.`in`(handlersByType.keys))
+                .orderBy(Tables.JOB.PRIORITY.desc(), Tables.JOB.RUN_AT)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked()
+        return dsl.update(Tables.JOB)
+                .set(Tables.JOB.RUN_AT, millisFromNow(TimeUnit.SECONDS.toMillis(leaseSeconds)))
+                .set(Tables.JOB.ATTEMPTS, Tables.JOB.ATTEMPTS.plus(1))
+                .where(Tables.JOB.ID.`in`(claimable))
+                .returning()
+                .fetch()
+                .sortedByDescending { it.priority }
+    }
+
+    // jobs scheduled for later than the next poll would otherwise wait for it
+    private fun scheduleNextWake() {
+        val next = dsl.select(DSL.min(Tables.JOB.RUN_AT)).from(Tables.JOB)
+                .where(Tables.JOB.FAILED_AT.isNull, Tables.JOB.TYPE.`in`(handlersByType.keys))
+                .fetchOne().value1() ?: return
+        val delay = Duration.between(OffsetDateTime.now(), next).toMillis().coerceAtLeast(0)
+        if (delay >= TimeUnit.SECONDS.toMillis(pollSeconds)) return
+        nextWake?.cancel(false)
+        nextWake = dispatcher.schedule(::wake, delay, TimeUnit.MILLISECONDS)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun run(job: JobRecord) {
+        val handler = handlersByType.getValue(job.type) as JobHandler<Any>
+        try {
+            handler.handle(objectMapper.readValue(job.payload.data(), handler.type.payloadType))
+            dsl.deleteFrom(Tables.JOB).where(Tables.JOB.ID.eq(job.id)).execute()
+            meterRegistry.counter("crylic.jobs", "type", job.type, "outcome", "completed").increment()
+        } catch (e: Exception) {
+            val error = e.toString().take(MAX_ERROR_LENGTH)
+            if (job.attempts >= maxAttempts) {
+                logger.error("Job ${job.id} (${job.type}) failed after ${job.attempts} attempts", e)
+                dsl.update(Tables.JOB).set(Tables.JOB.FAILED_AT, DSL.currentOffsetDateTime()).set(Tables.JOB.LAST_ERROR, error)
+                        .where(Tables.JOB.ID.eq(job.id)).execute()
+                meterRegistry.counter("crylic.jobs", "type", job.type, "outcome", "failed").increment()
+            } else {
+                logger.warn("Job ${job.id} (${job.type}) failed on attempt ${job.attempts}, retrying", e)
+                dsl.update(Tables.JOB).set(Tables.JOB.RUN_AT, millisFromNow(backoffMillis(job.attempts))).set(Tables.JOB.LAST_ERROR, error)
+                        .where(Tables.JOB.ID.eq(job.id)).execute()
+                meterRegistry.counter("crylic.jobs", "type", job.type, "outcome", "retried").increment()
+            }
+        } finally {
+            idle.release()
+            wake()
+        }
+    }
+
+    // doubles per attempt, jittered so jobs failing on the same outage don't all retry together
+    private fun backoffMillis(attempts: Int): Long {
+        val backoff = (TimeUnit.SECONDS.toMillis(backoffSeconds) shl (attempts - 1).coerceIn(0, 20)).coerceAtMost(TimeUnit.SECONDS.toMillis(maxBackoffSeconds))
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1)
+    }
+}
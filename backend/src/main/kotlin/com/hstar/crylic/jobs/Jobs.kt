@@ -0,0 +1,30 @@
+package com.hstar.crylic.jobs
+
+import java.time.OffsetDateTime
+import org.jooq.DSLContext
+
+/**
+ * A kind of background job, payloads are stored as json and read back as [payloadType].
+ */
+class JobType<T : Any>(val name: String, val payloadType: Class<T>)
+
+/**
+ * Runs jobs of one [type], every bean implementing it is picked up by [JobWorker].
+ * Throwing retries the job with backoff, so handlers should be safe to run more than once.
+ */
+interface JobHandler<T : Any> {
+    val type: JobType<T>
+
+    fun handle(payload: T)
+}
+
+/**
+ * Queues background work (github syncs, emails, builds) to run on a [JobHandler].
+ * Jobs with a higher priority are run first, [runAt] delays a job until then.
+ */
+interface JobQueue {
+    fun <T : Any> enqueue(type: JobType<T>, payload: T, priority: Int = 0, runAt: OffsetDateTime? = null)
+
+    // queued through the caller's transaction so the job only runs if it commits
+    fun <T : Any> enqueue(tx: DSLContext, type: JobType<T>, payload: T, priority: Int = 0, runAt: OffsetDateTime? = null)
+}
@@ -0,0 +1,31 @@
+package com.hstar.crylic.jobs
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.hstar.crylic.db.generated.Tables
+import java.time.OffsetDateTime
+import org.jooq.DSLContext
+import org.jooq.JSONB
+import org.jooq.impl.DSL
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+/**
+ * Queues jobs in the primary's "Job" table for [JobWorker], so background work doesn't need the messaging service.
+ */
+@Component
+class PostgresJobQueue : JobQueue {
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+
+    override fun <T : Any> enqueue(type: JobType<T>, payload: T, priority: Int, runAt: OffsetDateTime?) = enqueue(dsl, type, payload, priority, runAt)
+
+    override fun <T : Any> enqueue(tx: DSLContext, type: JobType<T>, payload: T, priority: Int, runAt: OffsetDateTime?) {
+        tx.insertInto(Tables.JOB)
+                .columns(Tables.JOB.TYPE, Tables.JOB.PAYLOAD, Tables.JOB.PRIORITY, Tables.JOB.RUN_AT)
+                .values(DSL.`val`(type.name), DSL.`val`(JSONB.valueOf(objectMapper.writeValueAsString(payload))), DSL.`val`(priority),
+                        if (runAt != null) DSL.`val`(runAt) else DSL.currentOffsetDateTime())
+                .execute()
+    }
+}
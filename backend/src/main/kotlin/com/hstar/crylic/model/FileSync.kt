@@ -0,0 +1,17 @@
+package com.hstar.crylic.model
+
+import javax.validation.constraints.NotBlank
+
+// hash is null and there are no blocks when there's no file at the path yet
+data class FileSignatures(val path: String, val hash: String?, val size: Long, val blockSize: Int, val weak: List<Int>, val strong: List<String>)
+
+// either count blocks of the base starting at block, or literal data
+class DeltaOp(val block: Int? = null, val count: Int = 1, val data: ByteArray? = null)
+
+// ops rebuild the file from the base the signatures were taken of, hash is the sha-256 of the result
+data class FileDelta(@field:NotBlank val path: String, val baseHash: String?, @field:NotBlank val hash: String, val ops: List<DeltaOp>)
+
+data class SyncedFile(val path: String, val hash: String, val size: Long, val literalBytes: Long)
+
+// conflicts are the paths whose file changed since their signatures were taken, they're left as they are
+data class SyncResult(val files: List<SyncedFile>, val conflicts: List<String>, val bytesReceived: Long, val bytesSaved: Long)
@@ -1,6 +0,0 @@
-package com.hstar.crylic.model
-
-import com.squareup.moshi.JsonClass
-
-@JsonClass(generateAdapter = true)
-data class GithubProjectMetadata(val url: String)
@@ -0,0 +1,17 @@
+package com.hstar.crylic.model
+
+import java.time.OffsetDateTime
+import java.util.*
+
+// opaque keyset cursor over a user's projects, ordered by (created_at, id)
+data class ProjectCursor(val createdAt: OffsetDateTime, val id: UUID) {
+    fun encode(): String = Base64.getUrlEncoder().withoutPadding().encodeToString("$createdAt|$id".toByteArray())
+
+    companion object {
+        fun decode(cursor: String): ProjectCursor {
+            val parts = String(Base64.getUrlDecoder().decode(cursor)).split("|")
+            require(parts.size == 2) { "Invalid cursor" }
+            return ProjectCursor(OffsetDateTime.parse(parts[0]), UUID.fromString(parts[1]))
+        }
+    }
+}
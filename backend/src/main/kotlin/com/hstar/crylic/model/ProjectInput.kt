@@ -0,0 +1,5 @@
+package com.hstar.crylic.model
+
+import javax.validation.constraints.NotBlank
+
+data class ProjectInput(@field:NotBlank val name: String, @field:NotBlank val githubUrl: String)
@@ -0,0 +1,23 @@
+package com.hstar.crylic.model
+
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.JsonClass
+import com.squareup.moshi.Moshi
+import com.squareup.moshi.adapters.PolymorphicJsonAdapterFactory
+
+/**
+ * Typed contents of "Project".metadata, stored as json tagged with the project type under "type".
+ */
+sealed class ProjectMetadata {
+    companion object {
+        // built once, moshi adapters are thread safe
+        val adapter: JsonAdapter<ProjectMetadata> = Moshi.Builder()
+                .add(PolymorphicJsonAdapterFactory.of(ProjectMetadata::class.java, "type")
+                        .withSubtype(GithubProjectMetadata::class.java, "github"))
+                .build()
+                .adapter(ProjectMetadata::class.java)
+    }
+}
+
+@JsonClass(generateAdapter = true)
+data class GithubProjectMetadata(val url: String) : ProjectMetadata()
@@ -0,0 +1,35 @@
+package com.hstar.crylic.outbox
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.hstar.crylic.db.generated.Tables
+import org.jooq.DSLContext
+import org.jooq.JSONB
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Component
+
+const val EVENTS_EXCHANGE = "crylic.events"
+
+const val PROJECT_CREATED = "project.created"
+const val INTEGRATION_ADDED = "integration.added"
+
+class OutboxEvent(val aggregateType: String, val aggregateId: String, val eventType: String, val payload: Any)
+
+/**
+ * Records events in the "Outbox" table for [OutboxRelay] to publish to the [EVENTS_EXCHANGE] exchange.
+ * Events are written through the caller's transaction so they're only published if the change they describe commits.
+ */
+@Component
+class Outbox {
+    @Autowired
+    private lateinit var objectMapper: ObjectMapper
+
+    fun append(tx: DSLContext, event: OutboxEvent) = append(tx, listOf(event))
+
+    fun append(tx: DSLContext, events: List<OutboxEvent>) {
+        if (events.isEmpty()) return
+        var insert = tx.insertInto(Tables.OUTBOX)
+                .columns(Tables.OUTBOX.AGGREGATE_TYPE, Tables.OUTBOX.AGGREGATE_ID, Tables.OUTBOX.EVENT_TYPE, Tables.OUTBOX.PAYLOAD)
+        events.forEach { insert = insert.values(it.aggregateType, it.aggregateId, it.eventType, JSONB.valueOf(objectMapper.writeValueAsString(it.payload))) }
+        insert.execute()
+    }
+}
@@ -0,0 +1,118 @@
+package com.hstar.crylic.outbox
+
+import com.hstar.crylic.db.PRIMARY_SHARD
+import com.hstar.crylic.db.PgNotificationListener
+import com.hstar.crylic.db.ShardRouter
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.records.OutboxRecord
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import java.util.*
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import org.jooq.impl.DSL
+import org.slf4j.LoggerFactory
+import org.springframework.amqp.core.Message
+import org.springframework.amqp.core.MessageBuilder
+import org.springframework.amqp.core.MessageProperties
+import org.springframework.amqp.rabbit.core.RabbitTemplate
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+private const val CHANNEL = "outbox"
+
+/**
+ * Publishes "Outbox" rows to rabbitmq in id order and deletes them once the broker has confirmed them.
+ * Woken by the outbox insert trigger's notification, with a slow poll as a backstop.
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, so instances relay concurrently without publishing a row twice,
+ * a failure before the delete commits republishes the batch, consumers dedupe on the message id (the outbox row id).
+ * Every shard has its own outbox, only the primary's notifies this instance so the others are drained alongside it.
+ */
+@Component
+class OutboxRelay {
+    private val logger = LoggerFactory.getLogger(OutboxRelay::class.java)
+
+    @Autowired
+    private lateinit var shardRouter: ShardRouter
+    @Autowired
+    private lateinit var rabbitTemplate: RabbitTemplate
+    @Autowired
+    private lateinit var notificationListener: PgNotificationListener
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.outbox.relay.enabled:false}")
+    private var enabled: Boolean = false
+    @Value("\${crylic.outbox.relay.batch-size:500}")
+    private var batchSize: Int = 500
+    @Value("\${crylic.outbox.relay.poll-seconds:30}")
+    private var pollSeconds: Long = 30
+    @Value("\${crylic.outbox.relay.confirm-timeout-ms:5000}")
+    private var confirmTimeoutMillis: Long = 5000
+
+    private val executor = Executors.newSingleThreadScheduledExecutor { Thread(it, "outbox-relay").apply { isDaemon = true } }
+    // set while a drain is queued, notifications arriving meanwhile are covered by it
+    private val pending = AtomicBoolean()
+    private lateinit var published: Counter
+    private lateinit var failed: Counter
+
+    @PostConstruct
+    fun init() {
+        if (!enabled) return
+        published = meterRegistry.counter("crylic.outbox.published")
+        failed = meterRegistry.counter("crylic.outbox.failed")
+        notificationListener.subscribe(CHANNEL, ::wake) { wake() }
+        executor.scheduleWithFixedDelay(::wake, pollSeconds, pollSeconds, TimeUnit.SECONDS)
+    }
+
+    @PreDestroy
+    fun stop() {
+        executor.shutdownNow()
+    }
+
+    private fun wake() {
+        if (pending.compareAndSet(false, true)) executor.execute(::drain)
+    }
+
+    private fun drain() {
+        pending.set(false)
+        try {
+            shardRouter.shards.forEach { shard -> while (relayBatch(shard) == batchSize) continue }
+        } catch (e: Exception) {
+            // the rows stay in the outbox and are retried on the next wake up
+            failed.increment()
+            logger.warn("Outbox relay failed", e)
+        }
+    }
+
+    private fun relayBatch(shard: String): Int = shardRouter.context(shard).transactionResult { configuration ->
+        val tx = DSL.using(configuration)
+        val events = tx.selectFrom(Tables.OUTBOX)
+                .orderBy(Tables.OUTBOX.ID)
+                .limit(batchSize)
+                .forUpdate()
+                .skipLocked()
+                .fetch()
+        if (events.isNotEmpty()) {
+            rabbitTemplate.invoke { operations ->
+                events.forEach { operations.send(EVENTS_EXCHANGE, it.eventType, message(shard, it)) }
+                operations.waitForConfirmsOrDie(confirmTimeoutMillis)
+            }
+            tx.deleteFrom(Tables.OUTBOX).where(Tables.OUTBOX.ID.`in`(events.map { it.id })).execute()
+            published.increment(events.size.toDouble())
+        }
+        events.size
+    }
+
+    // ids come from each shard's own sequence, other shards' are prefixed to keep them unique
+    private fun message(shard: String, event: OutboxRecord): Message = MessageBuilder.withBody(event.payload.data().toByteArray())
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setMessageId(if (shard == PRIMARY_SHARD) event.id.toString() else "$shard:${event.id}")
+            .setTimestamp(Date.from(event.createdAt.toInstant()))
+            .setHeader("aggregate_type", event.aggregateType)
+            .setHeader("aggregate_id", event.aggregateId)
+            .build()
+}
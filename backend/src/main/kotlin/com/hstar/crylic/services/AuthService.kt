@@ -1,7 +1,12 @@
 package com.hstar.crylic.services
 
+import com.hstar.crylic.activity.ActivityLog
+import com.hstar.crylic.activity.LOGIN
+import com.hstar.crylic.activity.LOGIN_FAILED
+import com.hstar.crylic.db.PreparedQueries
 import com.hstar.crylic.db.generated.Tables
 import com.hstar.crylic.db.generated.tables.pojos.User
+import com.hstar.crylic.utils.uuidV7
 import com.nimbusds.jose.*
 import com.nimbusds.jose.crypto.RSASSASigner
 import com.nimbusds.jose.crypto.RSASSAVerifier
@@ -12,11 +17,11 @@ import com.nimbusds.jwt.JWTClaimsSet
 import java.time.LocalDateTime
 import java.time.ZoneId
 import java.util.*
-import java.util.UUID
 import javax.annotation.PostConstruct
 import javax.validation.constraints.Email
 import javax.validation.constraints.NotBlank
 import org.jooq.DSLContext
+import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.data.redis.core.RedisTemplate
 import org.springframework.http.HttpStatus
@@ -32,10 +37,16 @@ val passwordEncoder = BCryptPasswordEncoder()
 @Service
 @Validated
 class AuthService {
+    private val logger = LoggerFactory.getLogger(AuthService::class.java)
+
     @Autowired
     private lateinit var dsl: DSLContext
     @Autowired
     private lateinit var template: RedisTemplate<String, String>
+    @Autowired
+    private lateinit var activityLog: ActivityLog
+    @Autowired
+    private lateinit var preparedQueries: PreparedQueries
     private lateinit var key: RSAKey
     private lateinit var signer: RSASSASigner
     private lateinit var verifier: RSASSAVerifier
@@ -57,7 +68,7 @@ class AuthService {
 
     fun login(@NotBlank email: String, @NotBlank password: String): String {
         try {
-            val user = dsl.selectFrom(Tables.USER.where(Tables.USER.EMAIL.eq(email))).fetchAny().into(User::class.java)
+            val user = preparedQueries.userByEmail.fetch(dsl, email).firstOrNull()?.into(User::class.java)
 
             if (user != null && passwordEncoder.matches(password, user.password.toString())) {
                 val claims = JWTClaimsSet.Builder()
@@ -73,19 +84,21 @@ class AuthService {
                         .build()
                 val jwsObject = JWSObject(JWSHeader(JWSAlgorithm.RS256), Payload(claims.toJSONObject()))
                 jwsObject.sign(signer)
+                activityLog.record(LOGIN, user.id)
                 return jwsObject.serialize()
             }
         } catch (e: Exception) {
-            println(e)
+            logger.warn("Login failed unexpectedly", e)
         }
+        activityLog.record(LOGIN_FAILED, null, email)
         throw ResponseStatusException(HttpStatus.BAD_REQUEST, "Login failed")
     }
 
     fun register(@Email email: String, @NotBlank password: String, @NotBlank firstName: String, @NotBlank lastName: String) {
         // TODO email verification
         dsl.insertInto(Tables.USER)
-                .columns(Tables.USER.EMAIL, Tables.USER.PASSWORD, Tables.USER.FIRST_NAME, Tables.USER.LAST_NAME)
-                .values(email, passwordEncoder.encode(password), firstName, lastName)
+                .columns(Tables.USER.ID, Tables.USER.EMAIL, Tables.USER.PASSWORD, Tables.USER.FIRST_NAME, Tables.USER.LAST_NAME)
+                .values(uuidV7(), email, passwordEncoder.encode(password), firstName, lastName)
                 .execute()
     }
 
@@ -0,0 +1,146 @@
+package com.hstar.crylic.services
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.hstar.crylic.files.BlobStore
+import com.hstar.crylic.files.BlockSignatures
+import com.hstar.crylic.files.blockSize
+import com.hstar.crylic.model.DeltaOp
+import com.hstar.crylic.model.FileDelta
+import com.hstar.crylic.model.FileSignatures
+import com.hstar.crylic.model.SyncResult
+import com.hstar.crylic.model.SyncedFile
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import java.nio.ByteBuffer
+import java.util.*
+import javax.annotation.PostConstruct
+import javax.validation.Valid
+import javax.validation.constraints.Size
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.stereotype.Service
+import org.springframework.validation.annotation.Validated
+import org.springframework.web.server.ResponseStatusException
+
+private const val MAX_SYNC_FILES = 500
+
+// size of the file the ops rebuild from a base of baseSize bytes, worked out before anything is allocated so a bad delta can't build something huge
+fun rebuiltSize(baseSize: Int, ops: List<DeltaOp>, maxFileBytes: Int): Long {
+    val blockSize = blockSize(baseSize.toLong())
+    val blocks = (baseSize + blockSize - 1) / blockSize
+    var size = 0L
+    ops.forEach { op ->
+        size += op.data?.size?.toLong() ?: run {
+            val block = op.block ?: throw ResponseStatusException(HttpStatus.BAD_REQUEST, "An op needs a block or data")
+            if (block < 0 || op.count < 1 || op.count > blocks - block) throw ResponseStatusException(HttpStatus.BAD_REQUEST, "Blocks out of range")
+            minOf((block + op.count).toLong() * blockSize, baseSize.toLong()) - block.toLong() * blockSize
+        }
+        if (size > maxFileBytes) throw ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Files are limited to $maxFileBytes bytes")
+    }
+    return size
+}
+
+// the base's blocks and the literal data in op order, size is the ops' [rebuiltSize]
+fun rebuild(base: ByteBuffer?, ops: List<DeltaOp>, size: Long): ByteArray {
+    val baseSize = base?.remaining() ?: 0
+    val blockSize = blockSize(baseSize.toLong())
+    val content = ByteArray(size.toInt())
+    val out = ByteBuffer.wrap(content)
+    ops.forEach { op ->
+        if (op.data != null) {
+            out.put(op.data)
+        } else {
+            val from = op.block!! * blockSize
+            out.put(base!!.duplicate().position(from).limit(minOf(from + op.count * blockSize, baseSize)))
+        }
+    }
+    return content
+}
+
+/**
+ * rsync style saves, a client fetches the [BlockSignatures] of the saved copies, matches them against its own and sends back only
+ * the ranges that changed as [FileDelta]s. Each file is rebuilt from its current blob and the literal data, verified against its sha-256
+ * and saved like any other, a one line edit to a large file costs the edit plus a few bytes per unchanged block range.
+ * Signatures of a blob never change so they're cached by hash.
+ */
+@Service
+@Validated
+class FileSyncService {
+    @Autowired
+    private lateinit var projectFileService: ProjectFileService
+    @Autowired
+    private lateinit var blobStore: BlobStore
+    @Autowired
+    private lateinit var meterRegistry: MeterRegistry
+    @Value("\${crylic.files.max-file-bytes:10485760}")
+    private var maxFileBytes: Int = 10485760
+    @Value("\${crylic.files.max-save-bytes:52428800}")
+    private var maxSaveBytes: Long = 52428800
+    @Value("\${crylic.files.sync.signature-cache-size:1000}")
+    private var signatureCacheSize: Long = 1000
+
+    private lateinit var signatures: Cache<String, BlockSignatures>
+    private lateinit var literalBytes: Counter
+    private lateinit var copiedBytes: Counter
+
+    @PostConstruct
+    fun init() {
+        signatures = Caffeine.newBuilder().maximumSize(signatureCacheSize).build()
+        literalBytes = meterRegistry.counter("crylic.files.sync.bytes", "source", "literal")
+        copiedBytes = meterRegistry.counter("crylic.files.sync.bytes", "source", "copied")
+    }
+
+    fun signatures(ownerId: UUID, projectId: UUID, @Size(max = MAX_SYNC_FILES) paths: List<String>): List<FileSignatures> {
+        val files = projectFileService.getFiles(ownerId, projectId, paths)
+        return paths.map { path ->
+            val file = files[normalizeFilePath(path)] ?: return@map FileSignatures(path, null, 0, 0, emptyList(), emptyList())
+            val blocks = signatures.get(file.hash) { BlockSignatures.of(blob(it)) }!!
+            FileSignatures(path, file.hash, file.size, blocks.blockSize, blocks.weak, blocks.strong)
+        }
+    }
+
+    fun sync(ownerId: UUID, projectId: UUID, @Valid @Size(max = MAX_SYNC_FILES) deltas: List<FileDelta>): SyncResult {
+        val paths = deltas.map { normalizeFilePath(it.path) }
+        if (paths.toSet().size != paths.size) throw ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate paths")
+        val current = projectFileService.getFiles(ownerId, projectId, paths)
+        val sizes = LinkedHashMap<String, Long>()
+        val conflicts = ArrayList<String>()
+        // every file is sized before any is built, a small request copying a large base over and over is turned away without allocating
+        var saveBytes = 0L
+        deltas.forEachIndexed { i, delta ->
+            val file = current[paths[i]]
+            if (file?.hash != delta.baseHash) {
+                conflicts.add(delta.path)
+                return@forEachIndexed
+            }
+            val size = rebuiltSize(file?.size?.toInt() ?: 0, delta.ops, maxFileBytes)
+            saveBytes += size
+            if (saveBytes > maxSaveBytes) throw ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Saves are limited to $maxSaveBytes bytes")
+            sizes[delta.path] = size
+        }
+
+        val rebuilt = LinkedHashMap<String, ByteArray>()
+        val literal = HashMap<String, Long>()
+        deltas.forEachIndexed { i, delta ->
+            val size = sizes[delta.path] ?: return@forEachIndexed
+            rebuilt[delta.path] = rebuild(current[paths[i]]?.let { blob(it.hash) }, delta.ops, size)
+            literal[delta.path] = delta.ops.map { it.data?.size?.toLong() ?: 0 }.sum()
+        }
+
+        // checked again under lock as the save is made, the files may have changed since they were read
+        val (saved, changed) = projectFileService.saveFilesIfUnchanged(ownerId, projectId, rebuilt,
+                deltas.filter { it.path in rebuilt }.associate { it.path to it.baseHash },
+                deltas.filter { it.path in rebuilt }.associate { it.path to it.hash })
+        conflicts.addAll(changed)
+        val files = rebuilt.keys.filter { it !in changed }.mapIndexed { i, path -> SyncedFile(path, saved[i].hash, saved[i].size, literal.getValue(path)) }
+        val received = files.map { it.literalBytes }.sum()
+        val total = files.map { it.size }.sum()
+        literalBytes.increment(received.toDouble())
+        copiedBytes.increment((total - received).toDouble())
+        return SyncResult(files, conflicts, received, total - received)
+    }
+
+    private fun blob(hash: String) = blobStore.get(hash) ?: throw IllegalStateException("Blob $hash is missing")
+}
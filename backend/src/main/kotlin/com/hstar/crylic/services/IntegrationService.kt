@@ -1,21 +1,61 @@
 package com.hstar.crylic.services
 
+import com.hstar.crylic.activity.ActivityLog
+import com.hstar.crylic.activity.INTEGRATION_CHANGED
+import com.hstar.crylic.cache.EntityCache
+import com.hstar.crylic.cache.INTEGRATION_ENTITY
+import com.hstar.crylic.cache.ResultCache
+import com.hstar.crylic.cache.cacheTag
+import com.hstar.crylic.db.DatabaseRouter
+import com.hstar.crylic.db.PreparedQueries
+import com.hstar.crylic.db.ShardRouter
 import com.hstar.crylic.db.generated.Tables
 import com.hstar.crylic.db.generated.tables.pojos.Integration
+import com.hstar.crylic.outbox.INTEGRATION_ADDED
+import com.hstar.crylic.outbox.Outbox
+import com.hstar.crylic.outbox.OutboxEvent
 import java.util.*
-import java.util.UUID
-import org.jooq.DSLContext
+import org.jooq.impl.DSL
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Service
 
 @Service
 class IntegrationService {
     @Autowired
-    private lateinit var dsl: DSLContext
+    private lateinit var shards: ShardRouter
+    @Autowired
+    private lateinit var router: DatabaseRouter
+    @Autowired
+    private lateinit var entityCache: EntityCache
+    @Autowired
+    private lateinit var resultCache: ResultCache
+    @Autowired
+    private lateinit var outbox: Outbox
+    @Autowired
+    private lateinit var activityLog: ActivityLog
+    @Autowired
+    private lateinit var preparedQueries: PreparedQueries
 
+    // reconnecting replaces the token of the existing integration, "Integration_user_id_type_key" allows one per user and type
     fun addIntegration(userId: UUID, type: String, token: String) {
-        dsl.insertInto(Tables.INTEGRATION).columns(Tables.INTEGRATION.USER_ID, Tables.INTEGRATION.TYPE, Tables.INTEGRATION.TOKEN).values(userId, type, token).execute()
+        shards.write(userId).transaction { configuration ->
+            val tx = DSL.using(configuration)
+            tx.insertInto(Tables.INTEGRATION).columns(Tables.INTEGRATION.USER_ID, Tables.INTEGRATION.TYPE, Tables.INTEGRATION.TOKEN).values(userId, type, token)
+                    .onConflict(Tables.INTEGRATION.USER_ID, Tables.INTEGRATION.TYPE)
+                    .doUpdate()
+                    .set(Tables.INTEGRATION.TOKEN, token)
+                    .execute()
+            // the token stays out of the event
+            outbox.append(tx, OutboxEvent("Integration", "$userId:$type", INTEGRATION_ADDED, mapOf("userId" to userId, "type" to type)))
+        }
+        router.wrote(userId)
+        // the trigger evicts it everywhere on commit, evicting here as well keeps this request from reading the old token
+        entityCache.evict(Tables.INTEGRATION, "$userId:$type")
+        resultCache.invalidate(cacheTag(INTEGRATION_ENTITY, userId))
+        activityLog.record(INTEGRATION_CHANGED, userId, type)
     }
 
-    fun getIntegration(userId: UUID) = dsl.selectFrom(Tables.INTEGRATION.where(Tables.INTEGRATION.USER_ID.eq(userId))).fetchAny()?.into(Integration::class.java)
+    fun getIntegration(userId: UUID, type: String) = entityCache.get(Tables.INTEGRATION, "$userId:$type", Integration::class.java) {
+        preparedQueries.integrationByUserAndType.fetch(shards.dsl(userId), userId, type).firstOrNull()?.into(Integration::class.java)
+    }
 }
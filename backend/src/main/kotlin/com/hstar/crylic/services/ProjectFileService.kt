@@ -0,0 +1,177 @@
+package com.hstar.crylic.services
+
+import com.hstar.crylic.db.DatabaseRouter
+import com.hstar.crylic.db.ShardRouter
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.ProjectFile
+import com.hstar.crylic.files.BlobStore
+import com.hstar.crylic.utils.sha256Hex
+import java.nio.ByteBuffer
+import java.util.*
+import javax.validation.constraints.Size
+import org.jooq.impl.DSL
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.stereotype.Service
+import org.springframework.validation.annotation.Validated
+import org.springframework.web.server.ResponseStatusException
+
+private const val MAX_PATH_LENGTH = 1024
+private const val MAX_SAVE_FILES = 500
+
+// the row proposed by an upsert, jOOQ 3.13 has no DSL.excluded
+private val EXCLUDED_HASH = DSL.field(DSL.name("excluded", "hash"), Tables.PROJECT_FILE.HASH.dataType)
+private val EXCLUDED_SIZE = DSL.field(DSL.name("excluded", "size"), Tables.PROJECT_FILE.SIZE.dataType)
+
+// relative paths with / separators as the editor names them, e.g. "src/App.tsx"
+fun normalizeFilePath(path: String): String {
+    val normalized = path.trim('/')
+    val segments = normalized.split('/')
+    if (normalized.isEmpty() || normalized.length > MAX_PATH_LENGTH || normalized.any { it == '\\' || it == '\u0000' } ||
+            segments.any { it.isEmpty() || it == "." || it == ".." }) {
+        throw ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path $path")
+    }
+    return normalized
+}
+
+/**
+ * Project files, a "ProjectFile" row per path on the owner's shard pointing at the blob in [BlobStore] holding its contents.
+ */
+@Service
+@Validated
+class ProjectFileService {
+    @Autowired
+    private lateinit var shards: ShardRouter
+    @Autowired
+    private lateinit var router: DatabaseRouter
+    @Autowired
+    private lateinit var projectService: ProjectService
+    @Autowired
+    private lateinit var blobStore: BlobStore
+    @Value("\${crylic.files.max-file-bytes:10485760}")
+    private var maxFileBytes: Int = 10485760
+    @Value("\${crylic.files.max-save-bytes:52428800}")
+    private var maxSaveBytes: Long = 52428800
+
+    fun listFiles(ownerId: UUID, projectId: UUID): List<ProjectFile> {
+        requireProject(ownerId, projectId)
+        return shards.read(ownerId).selectFrom(Tables.PROJECT_FILE)
+                .where(Tables.PROJECT_FILE.PROJECT_ID.eq(projectId))
+                .orderBy(Tables.PROJECT_FILE.PATH)
+                .fetchInto(ProjectFile::class.java)
+    }
+
+    fun getFile(ownerId: UUID, projectId: UUID, path: String): ProjectFile? {
+        requireProject(ownerId, projectId)
+        return shards.read(ownerId).selectFrom(Tables.PROJECT_FILE)
+                .where(Tables.PROJECT_FILE.PROJECT_ID.eq(projectId), Tables.PROJECT_FILE.PATH.eq(normalizeFilePath(path)))
+                .fetchOne()?.into(ProjectFile::class.java)
+    }
+
+    // the files at the paths that exist, by normalized path
+    fun getFiles(ownerId: UUID, projectId: UUID, paths: Collection<String>): Map<String, ProjectFile> {
+        requireProject(ownerId, projectId)
+        return shards.read(ownerId).selectFrom(Tables.PROJECT_FILE)
+                .where(Tables.PROJECT_FILE.PROJECT_ID.eq(projectId), Tables.PROJECT_FILE.PATH.`in`(paths.map(::normalizeFilePath)))
+                .fetchInto(ProjectFile::class.java)
+                .associateBy { it.path }
+    }
+
+    // the file and a read-only view of its contents, null if there's no file at the path
+    fun readFile(ownerId: UUID, projectId: UUID, path: String): Pair<ProjectFile, ByteBuffer>? {
+        val file = getFile(ownerId, projectId, path) ?: return null
+        val content = blobStore.get(file.hash) ?: throw IllegalStateException("Blob ${file.hash} of $projectId:${file.path} is missing")
+        return file to content
+    }
+
+    fun saveFile(ownerId: UUID, projectId: UUID, path: String, content: ByteArray) = saveFiles(ownerId, projectId, mapOf(path to content)).single()
+
+    // blobs are written before the manifest rows that reference them, files saved unchanged only touch their blob
+    // nothing is saved if a file's contents don't hash to its entry in expectedHashes
+    fun saveFiles(ownerId: UUID, projectId: UUID, @Size(max = MAX_SAVE_FILES) files: Map<String, ByteArray>, expectedHashes: Map<String, String> = emptyMap()): List<ProjectFile> =
+            save(ownerId, projectId, files, expectedHashes, null).first
+
+    /**
+     * Saves each file only if its current hash is still its entry in baseHashes, null for a file that shouldn't exist yet,
+     * and returns the saved files and the paths that had changed. Existing rows are locked while they're checked and saved,
+     * a file created meanwhile makes its insert a no-op, so a concurrent save is never overwritten.
+     */
+    fun saveFilesIfUnchanged(ownerId: UUID, projectId: UUID, @Size(max = MAX_SAVE_FILES) files: Map<String, ByteArray>, baseHashes: Map<String, String?>,
+                             expectedHashes: Map<String, String> = emptyMap()): Pair<List<ProjectFile>, List<String>> =
+            save(ownerId, projectId, files, expectedHashes, baseHashes)
+
+    private fun save(ownerId: UUID, projectId: UUID, files: Map<String, ByteArray>, expectedHashes: Map<String, String>,
+                     baseHashes: Map<String, String?>?): Pair<List<ProjectFile>, List<String>> {
+        requireProject(ownerId, projectId)
+        if (files.isEmpty()) return emptyList<ProjectFile>() to emptyList()
+        val keys = files.keys.toList()
+        val paths = keys.map(::normalizeFilePath)
+        if (paths.toSet().size != paths.size) throw ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate paths")
+        val contents = files.values.toList()
+        contents.forEach { if (it.size > maxFileBytes) throw ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Files are limited to $maxFileBytes bytes") }
+        if (contents.map { it.size.toLong() }.sum() > maxSaveBytes) throw ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Saves are limited to $maxSaveBytes bytes")
+        val hashes = contents.map(::sha256Hex)
+        // checked before any blob is written, so contents that fail it don't leave one behind
+        keys.forEachIndexed { i, path ->
+            val expected = expectedHashes[path]
+            if (expected != null && expected != hashes[i]) throw ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Contents of $path don't match their hash")
+        }
+        contents.forEachIndexed { i, content -> blobStore.put(content, hashes[i]) }
+
+        val table = Tables.PROJECT_FILE
+        val (saved, conflicts) = shards.write(ownerId).transactionResult { configuration ->
+            val tx = DSL.using(configuration)
+            var upserts = paths.indices.toList()
+            val conflicts = HashSet<Int>()
+            if (baseHashes != null) {
+                val current = tx.select(table.PATH, table.HASH).from(table)
+                        .where(table.PROJECT_ID.eq(projectId), table.PATH.`in`(paths))
+                        // locked in one order so saves of overlapping files don't deadlock
+                        .orderBy(table.PATH)
+                        .forUpdate()
+                        .fetchMap(table.PATH, table.HASH)
+                paths.indices.filterTo(conflicts) { current[paths[it]] != baseHashes[keys[it]] }
+                // new files have no row to lock, they're inserted only if one still doesn't exist
+                val inserts = paths.indices.filter { it !in conflicts && baseHashes[keys[it]] == null }
+                if (inserts.isNotEmpty()) {
+                    var insert = tx.insertInto(table).columns(table.PROJECT_ID, table.PATH, table.HASH, table.SIZE)
+                    inserts.forEach { insert = insert.values(projectId, paths[it], hashes[it], contents[it].size.toLong()) }
+                    val inserted = insert.onConflictDoNothing().returning(table.PATH).fetch().map { it.path }.toSet()
+                    inserts.filterTo(conflicts) { paths[it] !in inserted }
+                }
+                upserts = paths.indices.filter { it !in conflicts && it !in inserts }
+            }
+            if (upserts.isNotEmpty()) {
+                var insert = tx.insertInto(table).columns(table.PROJECT_ID, table.PATH, table.HASH, table.SIZE)
+                upserts.forEach { insert = insert.values(projectId, paths[it], hashes[it], contents[it].size.toLong()) }
+                insert.onConflict(table.PROJECT_ID, table.PATH)
+                        .doUpdate()
+                        .set(table.HASH, EXCLUDED_HASH)
+                        .set(table.SIZE, EXCLUDED_SIZE)
+                        // unchanged rows aren't rewritten, keeping their updated_at and sparing a dead tuple each
+                        .where(table.HASH.ne(EXCLUDED_HASH))
+                        .execute()
+            }
+            val savedPaths = paths.filterIndexed { i, _ -> i !in conflicts }
+            tx.selectFrom(table).where(table.PROJECT_ID.eq(projectId), table.PATH.`in`(savedPaths)).fetchInto(ProjectFile::class.java) to conflicts
+        }
+        router.wrote(ownerId)
+        val byPath = saved.associateBy { it.path }
+        return paths.filterIndexed { i, _ -> i !in conflicts }.map { byPath.getValue(it) } to keys.filterIndexed { i, _ -> i in conflicts }
+    }
+
+    // the blob is left to the sweep, other files may hold the same contents
+    fun deleteFile(ownerId: UUID, projectId: UUID, path: String): Boolean {
+        requireProject(ownerId, projectId)
+        val deleted = shards.write(ownerId).deleteFrom(Tables.PROJECT_FILE)
+                .where(Tables.PROJECT_FILE.PROJECT_ID.eq(projectId), Tables.PROJECT_FILE.PATH.eq(normalizeFilePath(path)))
+                .execute()
+        router.wrote(ownerId)
+        return deleted > 0
+    }
+
+    private fun requireProject(ownerId: UUID, projectId: UUID) {
+        if (projectService.getProject(ownerId, projectId)?.ownerId != ownerId) throw ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found")
+    }
+}
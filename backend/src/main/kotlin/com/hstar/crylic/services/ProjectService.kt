@@ -1,32 +1,117 @@
 package com.hstar.crylic.services
 
+import com.hstar.crylic.activity.ActivityLog
+import com.hstar.crylic.activity.PROJECT_ADDED
+import com.hstar.crylic.cache.EntityCache
+import com.hstar.crylic.cache.PROJECT_ENTITY
+import com.hstar.crylic.cache.ResultCache
+import com.hstar.crylic.cache.cacheTag
+import com.hstar.crylic.db.DatabaseRouter
+import com.hstar.crylic.db.PreparedQueries
+import com.hstar.crylic.db.ReactiveDatabase
+import com.hstar.crylic.db.ShardRouter
+import com.hstar.crylic.db.bulkInsert
 import com.hstar.crylic.db.generated.Tables
 import com.hstar.crylic.db.generated.tables.pojos.Project
 import com.hstar.crylic.model.GithubProjectMetadata
-import com.squareup.moshi.Moshi
-import org.jooq.DSLContext
-import org.jooq.JSONB
+import com.hstar.crylic.model.ProjectCursor
+import com.hstar.crylic.model.ProjectInput
+import com.hstar.crylic.outbox.Outbox
+import com.hstar.crylic.outbox.OutboxEvent
+import com.hstar.crylic.outbox.PROJECT_CREATED
+import com.hstar.crylic.utils.uuidV7
+import java.util.*
+import javax.validation.Valid
+import javax.validation.constraints.NotBlank
+import javax.validation.constraints.Size
+import org.jooq.Select
+import org.jooq.impl.DSL
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Service
 import org.springframework.validation.annotation.Validated
-import java.util.*
-import javax.validation.constraints.NotBlank
+import reactor.core.publisher.Flux
+
+private const val MAX_BULK_PROJECTS = 5000
 
 @Service
 @Validated
 class ProjectService {
     @Autowired
-    private lateinit var dsl: DSLContext
+    private lateinit var shards: ShardRouter
+    @Autowired
+    private lateinit var router: DatabaseRouter
+    @Autowired
+    private lateinit var reactive: ReactiveDatabase
+    @Autowired
+    private lateinit var entityCache: EntityCache
+    @Autowired
+    private lateinit var resultCache: ResultCache
+    @Autowired
+    private lateinit var outbox: Outbox
+    @Autowired
+    private lateinit var activityLog: ActivityLog
+    @Autowired
+    private lateinit var preparedQueries: PreparedQueries
 
     fun addGitHubProject(userId: UUID, @NotBlank name: String, @NotBlank githubUrl: String): Project {
-        val moshi = Moshi.Builder().build()
-        val metadata = moshi.adapter(GithubProjectMetadata::class.java).toJson(GithubProjectMetadata(githubUrl))
+        val project = shards.write(userId).transactionResult { configuration ->
+            val tx = DSL.using(configuration)
+            tx.insertInto(Tables.PROJECT)
+                    .columns(Tables.PROJECT.ID, Tables.PROJECT.NAME, Tables.PROJECT.OWNER_ID, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA)
+                    .values(uuidV7(), name, userId, "github", GithubProjectMetadata(githubUrl))
+                    .returningResult(Tables.PROJECT.asterisk()).fetchOne().into(Project::class.java)
+                    .also { outbox.append(tx, projectCreated(it.id, userId, name, githubUrl)) }
+        }
+        router.wrote(userId)
+        resultCache.invalidate(cacheTag(PROJECT_ENTITY, userId))
+        activityLog.record(PROJECT_ADDED, userId, project.id.toString(), mapOf("githubUrl" to githubUrl))
+        return project
+    }
+
+    // ids are generated up front so they're returned in input order whichever way the rows are written
+    fun addGitHubProjects(userId: UUID, @Valid @Size(max = MAX_BULK_PROJECTS) projects: List<ProjectInput>): List<UUID> {
+        if (projects.isEmpty()) return emptyList()
+        val ids = projects.map { uuidV7() }
+        val metadata = projects.map { GithubProjectMetadata(it.githubUrl) }
+
+        shards.write(userId).transaction { configuration ->
+            val tx = DSL.using(configuration)
+            bulkInsert(tx, Tables.PROJECT, listOf(Tables.PROJECT.ID, Tables.PROJECT.OWNER_ID, Tables.PROJECT.NAME, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA),
+                    projects.mapIndexed { i, project -> listOf(ids[i], userId, project.name, "github", metadata[i]) })
+            outbox.append(tx, projects.mapIndexed { i, project -> projectCreated(ids[i], userId, project.name, project.githubUrl) })
+        }
+        router.wrote(userId)
+        resultCache.invalidate(cacheTag(PROJECT_ENTITY, userId))
+        projects.forEachIndexed { i, project -> activityLog.record(PROJECT_ADDED, userId, ids[i].toString(), mapOf("githubUrl" to project.githubUrl)) }
+        return ids
+    }
+
+    fun getProject(ownerId: UUID, id: UUID) = entityCache.get(Tables.PROJECT, id.toString(), Project::class.java) {
+        preparedQueries.projectById.fetch(shards.dsl(ownerId), id).firstOrNull()?.into(Project::class.java)
+    }
+
+    // containment match served by "Project_metadata_idx", the bound metadata is serialized with its type tag through the column's converter
+    fun findGitHubProject(ownerId: UUID, githubUrl: String): Project? = shards.read(ownerId).selectFrom(Tables.PROJECT)
+            .where(Tables.PROJECT.OWNER_ID.eq(ownerId))
+            .and(DSL.condition("{0} @> {1}", Tables.PROJECT.METADATA, DSL.`val`(GithubProjectMetadata(githubUrl), Tables.PROJECT.METADATA)))
+            .fetchAny()?.into(Project::class.java)
+
+    // the reactive pool only reaches the primary, users on other shards are read over jdbc
+    fun listProjectsAsync(ownerId: UUID, limit: Int, after: ProjectCursor?): Flux<Project> = listProjectsQuery(ownerId, limit, after).let { query ->
+        if (shards.isPrimary(ownerId)) reactive.fetchInto(query, Project::class.java) else Flux.defer { Flux.fromIterable(query.fetchInto(Project::class.java)) }
+    }
+
+    // keyset pagination, seeks past the cursor with a row comparison served by "Project_owner_id_created_at_id_idx"
+    private fun listProjectsQuery(ownerId: UUID, limit: Int, after: ProjectCursor?): Select<*> {
+        var condition = Tables.PROJECT.OWNER_ID.eq(ownerId)
+        if (after != null) condition = condition.and(DSL.row(Tables.PROJECT.CREATED_AT, Tables.PROJECT.ID).gt(after.createdAt, after.id))
 
-        return dsl.insertInto(Tables.PROJECT)
-                .columns(Tables.PROJECT.NAME, Tables.PROJECT.OWNER_ID, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA)
-                .values(name, userId, "github", JSONB.valueOf(metadata))
-                .returningResult(Tables.PROJECT.asterisk()).fetchOne().into(Project::class.java)
+        return shards.read(ownerId).selectFrom(Tables.PROJECT)
+                .where(condition)
+                .orderBy(Tables.PROJECT.CREATED_AT, Tables.PROJECT.ID)
+                .limit(limit)
     }
 
-    fun getProject(id: UUID) = dsl.selectFrom(Tables.PROJECT.where(Tables.PROJECT.ID.eq(id))).fetchAny()?.into(Project::class.java)
-}
\ No newline at end of file
+    private fun projectCreated(id: UUID, ownerId: UUID, name: String, githubUrl: String) = OutboxEvent("Project", id.toString(), PROJECT_CREATED,
+            mapOf("id" to id, "ownerId" to ownerId, "name" to name, "type" to "github", "githubUrl" to githubUrl))
+}
@@ -0,0 +1,21 @@
+package com.hstar.crylic.services
+
+import com.hstar.crylic.cache.EntityCache
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.User
+import java.util.*
+import org.jooq.DSLContext
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.stereotype.Service
+
+@Service
+class UserService {
+    @Autowired
+    private lateinit var dsl: DSLContext
+    @Autowired
+    private lateinit var entityCache: EntityCache
+
+    fun getUser(id: UUID) = entityCache.get(Tables.USER, id.toString(), User::class.java) {
+        dsl.selectFrom(Tables.USER.where(Tables.USER.ID.eq(id))).fetchAny()?.into(User::class.java)
+    }
+}
@@ -0,0 +1,41 @@
+package com.hstar.crylic.utils
+
+import java.io.BufferedReader
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.InputStreamReader
+import javax.servlet.ReadListener
+import javax.servlet.ServletInputStream
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletRequestWrapper
+
+// reads the request body up front so filters can inspect it and still pass the request along
+class CachedBodyRequest(request: HttpServletRequest) : HttpServletRequestWrapper(request) {
+    val body: ByteArray = request.inputStream.readBytes()
+
+    override fun getInputStream(): ServletInputStream {
+        val stream = ByteArrayInputStream(body)
+        return object : ServletInputStream() {
+            override fun read() = stream.read()
+            override fun read(b: ByteArray, off: Int, len: Int) = stream.read(b, off, len)
+            override fun isFinished() = stream.available() == 0
+            override fun isReady() = true
+            // the whole body is already in memory, so it's available and read as soon as the listener is set
+            override fun setReadListener(listener: ReadListener) {
+                try {
+                    if (!isFinished) listener.onDataAvailable()
+                    // isReady never turns false, so a listener reads everything on the first call
+                    if (isFinished) listener.onAllDataRead()
+                } catch (e: IOException) {
+                    listener.onError(e)
+                }
+            }
+        }
+    }
+
+    override fun getReader() = BufferedReader(InputStreamReader(inputStream, characterEncoding ?: Charsets.UTF_8.name()))
+
+    override fun getContentLength() = body.size
+
+    override fun getContentLengthLong() = body.size.toLong()
+}
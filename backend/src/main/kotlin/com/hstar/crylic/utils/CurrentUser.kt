@@ -1,5 +1,6 @@
 package com.hstar.crylic.utils
 
+import org.springframework.security.authentication.AnonymousAuthenticationToken
 import org.springframework.security.core.AuthenticationException
 import javax.validation.Constraint
 import javax.validation.ConstraintValidator
@@ -26,3 +27,8 @@ class CurrentUserValidator : ConstraintValidator<CurrentUser, String> {
 
 // todo use a better exception class
 fun getCurrentUser() = UUID.fromString(SecurityContextHolder.getContext().authentication.also { if (!it.isAuthenticated) throw Exception("Not Authenticated") }.name)
+
+// the signed in user, or null for anonymous requests
+fun getCurrentUserOrNull(): UUID? = SecurityContextHolder.getContext().authentication
+        ?.takeIf { it.isAuthenticated && it !is AnonymousAuthenticationToken }
+        ?.let { runCatching { UUID.fromString(it.name) }.getOrNull() }
@@ -0,0 +1,9 @@
+package com.hstar.crylic.utils
+
+import java.security.MessageDigest
+
+fun sha256(data: ByteArray): ByteArray = MessageDigest.getInstance("SHA-256").digest(data)
+
+fun sha256Hex(data: ByteArray) = sha256(data).joinToString("") { "%02x".format(it) }
+
+fun sha256Hex(data: String) = sha256Hex(data.toByteArray())
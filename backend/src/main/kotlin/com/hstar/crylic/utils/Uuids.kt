@@ -0,0 +1,22 @@
+package com.hstar.crylic.utils
+
+import java.security.SecureRandom
+import java.util.*
+import java.util.concurrent.atomic.AtomicLong
+
+private val random = SecureRandom()
+// last issued unix millis shifted left 12 bits plus a 12 bit sequence within that millisecond
+private val lastStamp = AtomicLong()
+
+/**
+ * UUIDv7 (RFC 9562), a 48 bit unix millisecond timestamp followed by a sequence and 62 random bits.
+ * Ids from one process sort in issue order, so new primary keys land on the right edge of the index instead of a random page.
+ * A burst beyond 4096 ids in a millisecond borrows the next millisecond's timestamp rather than going out of order.
+ */
+fun uuidV7(): UUID {
+    val now = System.currentTimeMillis() shl 12
+    val stamp = lastStamp.updateAndGet { last -> if (last < now) now else last + 1 }
+    val msb = (stamp ushr 12 shl 16) or 0x7000L or (stamp and 0xfffL)
+    val lsb = (random.nextLong() and 0x3fffffffffffffffL) or Long.MIN_VALUE
+    return UUID(msb, lsb)
+}
@@ -0,0 +1,35 @@
+-- public."Job" definition
+-- background jobs claimed by the backend's job workers, a claimed job's run_at is pushed out by the lease so a crashed worker's jobs are picked up again
+-- finished jobs are deleted, jobs out of attempts are kept with failed_at set
+-- Drop table
+-- DROP TABLE public."Job";
+CREATE TABLE public."Job" (
+  id bigserial NOT NULL,
+  "type" varchar NOT NULL,
+  payload jsonb NOT NULL,
+  priority int4 NOT NULL DEFAULT 0,
+  run_at timestamptz NOT NULL DEFAULT now(),
+  attempts int4 NOT NULL DEFAULT 0,
+  last_error varchar NULL,
+  failed_at timestamptz NULL,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  updated_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT "Job_pkey" PRIMARY KEY (id)
+);
+-- public."Job" indexes
+-- backs the claim: failed_at IS NULL AND run_at <= now() ORDER BY priority DESC, run_at
+CREATE INDEX "Job_priority_run_at_idx" ON public."Job" USING btree (priority DESC, run_at) WHERE failed_at IS NULL;
+-- notify_job function definition
+-- wakes the workers on commit, the payload is empty so a transaction's notifications fold into one
+CREATE OR REPLACE FUNCTION public.notify_job() RETURNS trigger LANGUAGE plpgsql AS $function$
+BEGIN
+  PERFORM pg_notify('job', '');
+  RETURN NULL;
+END $function$;
+-- Table Triggers
+-- DROP TRIGGER "set_public_Job_updated_at" ON public."Job";
+create trigger "set_public_Job_updated_at" before
+update on public."Job" for each row execute function set_current_timestamp_updated_at();
+-- DROP TRIGGER "notify_public_Job_insert" ON public."Job";
+create trigger "notify_public_Job_insert" after
+insert on public."Job" for each statement execute function notify_job();
@@ -0,0 +1,29 @@
+-- public."Activity" definition
+-- audit and activity trail written behind by the backend in batches, partitioned by month so old months can be detached and dropped whole
+-- Drop table
+-- DROP TABLE public."Activity";
+CREATE TABLE public."Activity" (
+  id uuid NOT NULL,
+  occurred_at timestamptz NOT NULL,
+  user_id uuid NULL,
+  "type" varchar NOT NULL,
+  subject varchar NULL,
+  "data" jsonb NULL,
+  CONSTRAINT "Activity_pkey" PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+-- public."Activity" indexes
+-- a user's trail in time order, created on every partition
+CREATE INDEX "Activity_user_id_occurred_at_idx" ON public."Activity" USING btree (user_id, occurred_at);
+-- create_activity_partition function definition
+-- creates "Activity_yYYYYmMM" for the utc month holding the given time if it's missing, the backend keeps next month's created ahead of time
+CREATE OR REPLACE FUNCTION public.create_activity_partition(during timestamptz) RETURNS void LANGUAGE plpgsql AS $function$
+DECLARE
+  month_start timestamp := date_trunc('month', during AT TIME ZONE 'UTC');
+BEGIN
+  EXECUTE format('CREATE TABLE IF NOT EXISTS public.%I PARTITION OF public."Activity" FOR VALUES FROM (%L) TO (%L)',
+    'Activity_' || to_char(month_start, '"y"YYYY"m"MM'), month_start AT TIME ZONE 'UTC', (month_start + interval '1 month') AT TIME ZONE 'UTC');
+END $function$;
+SELECT create_activity_partition(now());
+SELECT create_activity_partition(now() + interval '1 month');
+-- catches rows outside the monthly partitions rather than failing their batch, a month can't be created while this holds rows for it
+CREATE TABLE public."Activity_default" PARTITION OF public."Activity" DEFAULT;
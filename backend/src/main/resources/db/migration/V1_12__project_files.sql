@@ -0,0 +1,24 @@
+-- public."ProjectFile" definition
+-- the files saved for each project, contents live in the backend's blob store under their sha-256 so identical files across projects are stored once
+-- Drop table
+-- DROP TABLE public."ProjectFile";
+CREATE TABLE public."ProjectFile" (
+  project_id uuid NOT NULL,
+  "path" varchar NOT NULL,
+  hash varchar(64) NOT NULL,
+  "size" int8 NOT NULL,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  updated_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT "ProjectFile_pkey" PRIMARY KEY (project_id, path)
+);
+-- public."ProjectFile" indexes
+-- whether any file still references a blob, checked before the blob store deletes it
+CREATE INDEX "ProjectFile_hash_idx" ON public."ProjectFile" USING btree (hash);
+-- Table Triggers
+-- DROP TRIGGER "set_public_ProjectFile_updated_at" ON public."ProjectFile";
+create trigger "set_public_ProjectFile_updated_at" before
+update on public."ProjectFile" for each row execute function set_current_timestamp_updated_at();
+-- public."ProjectFile" foreign keys
+-- projects and their files always share a shard
+ALTER TABLE public."ProjectFile"
+ADD CONSTRAINT "ProjectFile_project_id_fkey" FOREIGN KEY (project_id) REFERENCES "Project"(id) ON UPDATE RESTRICT ON DELETE CASCADE;
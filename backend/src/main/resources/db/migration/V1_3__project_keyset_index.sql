@@ -0,0 +1,9 @@
+-- public."Project" indexes
+-- backs keyset pagination over a user's projects: owner_id = ? AND (created_at, id) > (?, ?) ORDER BY created_at, id
+CREATE INDEX "Project_owner_id_created_at_id_idx" ON public."Project" USING btree (owner_id, created_at, id);
+-- viewer function definition
+-- compare against the uuid itself so the lookup is a "User_pkey" probe instead of a scan over id::text
+CREATE OR REPLACE FUNCTION public.viewer(hasura_session json) RETURNS SETOF "User" LANGUAGE sql STABLE AS $function$
+SELECT *
+FROM "User"
+WHERE id = (hasura_session->>'x-hasura-user-id')::uuid $function$;
@@ -0,0 +1,5 @@
+-- tag existing metadata with its project type, the discriminator the backend reads it back by
+UPDATE public."Project" SET metadata = jsonb_build_object('type', "type") || metadata WHERE NOT metadata ? 'type';
+-- public."Project" indexes
+-- containment lookups on metadata, e.g. metadata @> '{"type": "github", "url": "..."}'
+CREATE INDEX "Project_metadata_idx" ON public."Project" USING gin (metadata jsonb_path_ops);
@@ -0,0 +1,6 @@
+-- keep only the latest integration of each type per user before enforcing uniqueness
+DELETE FROM public."Integration" a USING public."Integration" b
+WHERE a.user_id = b.user_id AND a."type" = b."type" AND a.id < b.id;
+-- public."Integration" unique constraints
+-- one integration per user and type, also backs the (user_id, type) lookups and addIntegration's upsert
+ALTER TABLE public."Integration" ADD CONSTRAINT "Integration_user_id_type_key" UNIQUE (user_id, "type");
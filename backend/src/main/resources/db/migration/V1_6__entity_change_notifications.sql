@@ -0,0 +1,26 @@
+-- notify_entity_change function definition
+-- sends "<table>:<key columns joined by ':'>" on entity_changed for the old and new row, the backend evicts its cached copies on it
+-- notifications are only delivered on commit and duplicates within a transaction are folded
+CREATE OR REPLACE FUNCTION public.notify_entity_change() RETURNS trigger LANGUAGE plpgsql AS $function$
+DECLARE
+  changed jsonb;
+  entity_key text;
+BEGIN
+  FOREACH changed IN ARRAY ARRAY[to_jsonb(OLD), to_jsonb(NEW)] LOOP
+    CONTINUE WHEN changed IS NULL;
+    entity_key := NULL;
+    FOR i IN 0 .. TG_NARGS - 1 LOOP
+      entity_key := concat_ws(':', entity_key, changed ->> TG_ARGV[i]);
+    END LOOP;
+    PERFORM pg_notify('entity_changed', TG_TABLE_NAME || ':' || entity_key);
+  END LOOP;
+  RETURN NULL;
+END $function$;
+-- Table Triggers
+-- inserts don't need one, missing rows aren't cached
+create trigger "notify_public_User_change" after
+update or delete on public."User" for each row execute function notify_entity_change('id');
+create trigger "notify_public_Project_change" after
+update or delete on public."Project" for each row execute function notify_entity_change('id');
+create trigger "notify_public_Integration_change" after
+update or delete on public."Integration" for each row execute function notify_entity_change('user_id', 'type');
@@ -0,0 +1,24 @@
+-- public."Outbox" definition
+-- events written in the same transaction as the rows they describe, the backend relays them to rabbitmq and deletes them
+-- Drop table
+-- DROP TABLE public."Outbox";
+CREATE TABLE public."Outbox" (
+  id bigserial NOT NULL,
+  aggregate_type varchar NOT NULL,
+  aggregate_id varchar NOT NULL,
+  event_type varchar NOT NULL,
+  payload jsonb NOT NULL,
+  created_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT "Outbox_pkey" PRIMARY KEY (id)
+);
+-- notify_outbox function definition
+-- wakes the relay on commit, the payload is empty so a transaction's notifications fold into one
+CREATE OR REPLACE FUNCTION public.notify_outbox() RETURNS trigger LANGUAGE plpgsql AS $function$
+BEGIN
+  PERFORM pg_notify('outbox', '');
+  RETURN NULL;
+END $function$;
+-- Table Triggers
+-- DROP TRIGGER "notify_public_Outbox_insert" ON public."Outbox";
+create trigger "notify_public_Outbox_insert" after
+insert on public."Outbox" for each statement execute function notify_outbox();
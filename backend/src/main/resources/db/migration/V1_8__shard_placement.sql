@@ -0,0 +1,36 @@
+-- public."ShardPlacement" definition
+-- the shard holding each user's projects and integrations, only read on the primary
+-- users get their hash ring shard on first use and moving_to is set while ShardRebalancer copies them elsewhere
+-- Drop table
+-- DROP TABLE public."ShardPlacement";
+CREATE TABLE public."ShardPlacement" (
+  user_id uuid NOT NULL,
+  shard varchar NOT NULL,
+  moving_to varchar NULL,
+  updated_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT "ShardPlacement_pkey" PRIMARY KEY (user_id)
+);
+-- everything lived on the primary before sharding
+INSERT INTO public."ShardPlacement" (user_id, shard)
+SELECT id, 'primary' FROM public."User";
+-- notify_shard_placement function definition
+-- sends the user id on shard_placement so every backend instance drops its cached placement
+CREATE OR REPLACE FUNCTION public.notify_shard_placement() RETURNS trigger LANGUAGE plpgsql AS $function$
+BEGIN
+  PERFORM pg_notify('shard_placement', OLD.user_id::text);
+  RETURN NULL;
+END $function$;
+-- Table Triggers
+-- DROP TRIGGER "set_public_ShardPlacement_updated_at" ON public."ShardPlacement";
+create trigger "set_public_ShardPlacement_updated_at" before
+update on public."ShardPlacement" for each row execute function set_current_timestamp_updated_at();
+create trigger "notify_public_ShardPlacement_change" after
+update or delete on public."ShardPlacement" for each row execute function notify_shard_placement();
+-- users only exist on the primary, the other shards can't reference them
+DO $$
+BEGIN
+  IF '${shard}' <> 'primary' THEN
+    ALTER TABLE public."Project" DROP CONSTRAINT "Project_owner_id_fkey";
+    ALTER TABLE public."Integration" DROP CONSTRAINT "Integration_user_id_fkey";
+  END IF;
+END $$;
@@ -0,0 +1,13 @@
+-- uuid_generate_v7 function definition
+-- time ordered ids (RFC 9562), the unix millisecond timestamp replaces the first 6 bytes of a random uuid and the version nibble is set to 7
+-- rows inserted by the backend get theirs from uuidV7(), this covers hasura and manual inserts, existing v4 ids are left as they are
+CREATE OR REPLACE FUNCTION public.uuid_generate_v7() RETURNS uuid LANGUAGE sql VOLATILE AS $function$
+SELECT encode(
+    set_bit(
+      set_bit(
+        overlay(uuid_send(gen_random_uuid()) placing substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3) FROM 1 FOR 6),
+        52, 1),
+      53, 1),
+    'hex')::uuid $function$;
+ALTER TABLE public."User" ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE public."Project" ALTER COLUMN id SET DEFAULT uuid_generate_v7();
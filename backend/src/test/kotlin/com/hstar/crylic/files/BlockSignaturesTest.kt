@@ -0,0 +1,62 @@
+package com.hstar.crylic.files
+
+import java.nio.ByteBuffer
+import kotlin.random.Random
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class BlockSignaturesTest {
+    // a and b kept exact in longs, then reduced as the signature packs them
+    private fun referenceChecksum(bytes: ByteArray, from: Int, to: Int): Int {
+        var a = 0L
+        var b = 0L
+        for (i in from until to) {
+            val x = bytes[i].toLong() and 0xff
+            a += x
+            b += (to - i) * x
+        }
+        return ((a and 0xffff) or ((b and 0xffff) shl 16)).toInt()
+    }
+
+    @Test
+    fun `block sizes are about the square root of the file size`() {
+        assertEquals(700, blockSize(0))
+        assertEquals(700, blockSize(100_000))
+        assertEquals(1000, blockSize(1_000_000))
+        assertEquals(131072, blockSize(1L shl 40))
+    }
+
+    @Test
+    fun `weak checksum matches rsync's`() {
+        val bytes = Random(1).nextBytes(4096)
+        assertEquals(referenceChecksum(bytes, 0, bytes.size), BlockSignatures.weakChecksum(ByteBuffer.wrap(bytes), 0, bytes.size))
+        assertEquals(referenceChecksum(bytes, 100, 900), BlockSignatures.weakChecksum(ByteBuffer.wrap(bytes), 100, 900))
+    }
+
+    @Test
+    fun `weak checksum keeps the low bits of b when it overflows`() {
+        // b reaches about 255 * n^2 / 2 over the largest block, far past an int
+        val bytes = ByteArray(131072) { 0xff.toByte() }
+        assertEquals(referenceChecksum(bytes, 0, bytes.size), BlockSignatures.weakChecksum(ByteBuffer.wrap(bytes), 0, bytes.size))
+    }
+
+    @Test
+    fun `the last block may be short`() {
+        val bytes = Random(2).nextBytes(1500)
+        val signatures = BlockSignatures.of(ByteBuffer.wrap(bytes))
+        assertEquals(700, signatures.blockSize)
+        assertEquals(3, signatures.weak.size)
+        assertEquals(3, signatures.strong.size)
+        assertEquals(referenceChecksum(bytes, 1400, 1500), signatures.weak[2])
+    }
+
+    @Test
+    fun `signatures are taken from the buffer's position`() {
+        val bytes = Random(3).nextBytes(1000)
+        val offset = ByteBuffer.wrap(ByteArray(10) + bytes).position(10) as ByteBuffer
+        val signatures = BlockSignatures.of(offset)
+        val expected = BlockSignatures.of(ByteBuffer.wrap(bytes))
+        assertEquals(expected.weak, signatures.weak)
+        assertEquals(expected.strong, signatures.strong)
+    }
+}
@@ -0,0 +1,50 @@
+package com.hstar.crylic.files
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.springframework.mock.web.MockFilterChain
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.test.util.ReflectionTestUtils
+
+class SaveSizeFilterTest {
+    private val filter = SaveSizeFilter().also { ReflectionTestUtils.setField(it, "maxSaveBytes", 3000L) }
+
+    // status and whether the request reached the controllers
+    private fun filter(method: String, path: String, length: Long?): Pair<Int, Boolean> {
+        // the mock only reports the length of content it was given
+        val request = object : MockHttpServletRequest(method, path) {
+            override fun getContentLengthLong() = length ?: -1
+        }
+        request.servletPath = path
+        val response = MockHttpServletResponse()
+        val chain = MockFilterChain()
+        filter.doFilter(request, response, chain)
+        return response.status to (chain.request != null)
+    }
+
+    @Test
+    fun `saves that fit are passed on`() {
+        assertEquals(200 to true, filter("PUT", "/projects/p/files", 4000L + 4 * 1024 * 1024))
+        assertEquals(200 to true, filter("PUT", "/projects/p/files/src/a.txt", 10))
+        assertEquals(200 to true, filter("POST", "/projects/p/sync", 10))
+    }
+
+    @Test
+    fun `saves past the limit are refused before they're read`() {
+        assertEquals(413 to false, filter("PUT", "/projects/p/files", 4001L + 4 * 1024 * 1024))
+        assertEquals(413 to false, filter("PUT", "/projects/p/files/src/a.txt", Long.MAX_VALUE))
+        assertEquals(413 to false, filter("POST", "/projects/p/sync", 10L * 1024 * 1024))
+    }
+
+    @Test
+    fun `saves without a length are refused`() {
+        assertEquals(411 to false, filter("POST", "/projects/p/sync", null))
+    }
+
+    @Test
+    fun `other requests are left alone`() {
+        assertEquals(200 to true, filter("GET", "/projects/p/files/src/a.txt", null))
+        assertEquals(200 to true, filter("POST", "/graphql", 10L * 1024 * 1024))
+    }
+}
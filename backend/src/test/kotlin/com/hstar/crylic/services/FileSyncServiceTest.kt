@@ -0,0 +1,93 @@
+package com.hstar.crylic.services
+
+import com.hstar.crylic.db.generated.tables.pojos.ProjectFile
+import com.hstar.crylic.files.BlobStore
+import com.hstar.crylic.files.blockSize
+import com.hstar.crylic.model.DeltaOp
+import com.hstar.crylic.model.FileDelta
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import java.nio.ByteBuffer
+import java.time.OffsetDateTime
+import java.util.*
+import kotlin.random.Random
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.Mockito
+import org.springframework.http.HttpStatus
+import org.springframework.test.util.ReflectionTestUtils
+import org.springframework.web.server.ResponseStatusException
+
+private const val MAX_FILE_BYTES = 10485760
+
+class FileSyncServiceTest {
+    // 1500 bytes in blocks of 700, the last one 100 bytes
+    private val base = Random(1).nextBytes(1500)
+
+    private fun status(block: () -> Unit) = assertThrows<ResponseStatusException>(block).status
+
+    @Test
+    fun `blocks and literal data are rebuilt in op order`() {
+        val ops = listOf(DeltaOp(1), DeltaOp(data = byteArrayOf(1, 2, 3)), DeltaOp(0))
+        val size = rebuiltSize(base.size, ops, MAX_FILE_BYTES)
+        assertEquals(1403, size)
+        assertArrayEquals(base.copyOfRange(700, 1400) + byteArrayOf(1, 2, 3) + base.copyOfRange(0, 700), rebuild(ByteBuffer.wrap(base), ops, size))
+    }
+
+    @Test
+    fun `a run of blocks ending at the short last block copies only what's there`() {
+        val ops = listOf(DeltaOp(1, 2))
+        val size = rebuiltSize(base.size, ops, MAX_FILE_BYTES)
+        assertEquals(800, size)
+        assertArrayEquals(base.copyOfRange(700, 1500), rebuild(ByteBuffer.wrap(base), ops, size))
+    }
+
+    @Test
+    fun `a new file is all literal data`() {
+        val ops = listOf(DeltaOp(data = byteArrayOf(4, 5)))
+        assertArrayEquals(byteArrayOf(4, 5), rebuild(null, ops, rebuiltSize(0, ops, MAX_FILE_BYTES)))
+    }
+
+    @Test
+    fun `blocks outside the base are rejected`() {
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(base.size, listOf(DeltaOp(3)), MAX_FILE_BYTES) })
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(base.size, listOf(DeltaOp(1, 3)), MAX_FILE_BYTES) })
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(base.size, listOf(DeltaOp(-1)), MAX_FILE_BYTES) })
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(base.size, listOf(DeltaOp(0, 0)), MAX_FILE_BYTES) })
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(0, listOf(DeltaOp(0)), MAX_FILE_BYTES) })
+        assertEquals(HttpStatus.BAD_REQUEST, status { rebuiltSize(base.size, listOf(DeltaOp()), MAX_FILE_BYTES) })
+    }
+
+    @Test
+    fun `files past the size limit are rejected while they're sized`() {
+        val ops = List(3) { DeltaOp(0, 3) }
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, status { rebuiltSize(base.size, ops, 4000) })
+        assertEquals(4500, rebuiltSize(base.size, ops, 4500))
+    }
+
+    @Test
+    fun `a batch past max-save-bytes is rejected before any file is built`() {
+        val ownerId = UUID.randomUUID()
+        val projectId = UUID.randomUUID()
+        val hash = "a".repeat(64)
+        val paths = (0 until 500).map { "file$it.txt" }
+        val projectFileService = Mockito.mock(ProjectFileService::class.java)
+        val blobStore = Mockito.mock(BlobStore::class.java)
+        Mockito.`when`(projectFileService.getFiles(ownerId, projectId, paths))
+                .thenReturn(paths.associateWith { ProjectFile(projectId, it, hash, MAX_FILE_BYTES.toLong(), OffsetDateTime.now(), OffsetDateTime.now()) })
+
+        val service = FileSyncService()
+        ReflectionTestUtils.setField(service, "projectFileService", projectFileService)
+        ReflectionTestUtils.setField(service, "blobStore", blobStore)
+        ReflectionTestUtils.setField(service, "meterRegistry", SimpleMeterRegistry())
+        service.init()
+
+        // a few bytes of json per file, each copying a whole 10 MB base
+        val blockSize = blockSize(MAX_FILE_BYTES.toLong())
+        val blocks = (MAX_FILE_BYTES + blockSize - 1) / blockSize
+        val deltas = paths.map { FileDelta(it, hash, hash, listOf(DeltaOp(0, blocks))) }
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, status { service.sync(ownerId, projectId, deltas) })
+        Mockito.verifyNoInteractions(blobStore)
+    }
+}
@@ -0,0 +1,153 @@
+package com.hstar.crylic.services
+
+import com.hstar.crylic.db.DatabaseRouter
+import com.hstar.crylic.db.ShardRouter
+import com.hstar.crylic.db.generated.Tables
+import com.hstar.crylic.db.generated.tables.pojos.Project
+import com.hstar.crylic.files.BlobStore
+import com.hstar.crylic.model.GithubProjectMetadata
+import com.hstar.crylic.utils.sha256Hex
+import com.zaxxer.hikari.HikariDataSource
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import java.nio.file.Path
+import java.time.OffsetDateTime
+import java.util.*
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import org.flywaydb.core.Flyway
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.junit.jupiter.api.AfterAll
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assumptions.assumeTrue
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.Mockito
+import org.springframework.test.util.ReflectionTestUtils
+
+/**
+ * Runs against the postgres at CRYLIC_TEST_DB_URL, localhost's crylic_test database by default, and is skipped when there's none.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectFileServiceTest {
+    private lateinit var dataSource: HikariDataSource
+    private lateinit var dsl: DSLContext
+    private lateinit var service: ProjectFileService
+    private lateinit var ownerId: UUID
+    private lateinit var projectId: UUID
+
+    @BeforeAll
+    fun connect() {
+        val url = System.getenv("CRYLIC_TEST_DB_URL") ?: "jdbc:postgresql://localhost:5432/crylic_test"
+        val username = System.getenv("CRYLIC_TEST_DB_USERNAME") ?: "root"
+        val password = System.getenv("CRYLIC_TEST_DB_PASSWORD") ?: "admin"
+        dataSource = HikariDataSource().apply {
+            jdbcUrl = url
+            this.username = username
+            this.password = password
+            initializationFailTimeout = -1
+            connectionTimeout = 2000
+        }
+        assumeTrue(runCatching { dataSource.connection.close() }.isSuccess, "No postgres at $url")
+        Flyway.configure().dataSource(dataSource).placeholders(mapOf("shard" to "primary")).load().migrate()
+        dsl = DSL.using(dataSource, SQLDialect.POSTGRES)
+    }
+
+    @AfterAll
+    fun disconnect() = dataSource.close()
+
+    @BeforeEach
+    fun setUp(@TempDir blobs: Path) {
+        ownerId = UUID.randomUUID()
+        projectId = UUID.randomUUID()
+        dsl.insertInto(Tables.USER, Tables.USER.ID, Tables.USER.EMAIL, Tables.USER.PASSWORD, Tables.USER.FIRST_NAME, Tables.USER.LAST_NAME)
+                .values(ownerId, "$ownerId@crylic.io", "", "Test", "User").execute()
+        val metadata = GithubProjectMetadata("https://github.com/crylic/test")
+        dsl.insertInto(Tables.PROJECT, Tables.PROJECT.ID, Tables.PROJECT.OWNER_ID, Tables.PROJECT.NAME, Tables.PROJECT.TYPE, Tables.PROJECT.METADATA)
+                .values(projectId, ownerId, "test", "github", metadata).execute()
+
+        val shards = Mockito.mock(ShardRouter::class.java)
+        Mockito.`when`(shards.read(ownerId)).thenReturn(dsl)
+        Mockito.`when`(shards.write(ownerId)).thenReturn(dsl)
+        val projectService = Mockito.mock(ProjectService::class.java)
+        Mockito.`when`(projectService.getProject(ownerId, projectId))
+                .thenReturn(Project(projectId, ownerId, "test", "github", metadata, OffsetDateTime.now(), OffsetDateTime.now()))
+        val blobStore = BlobStore()
+        ReflectionTestUtils.setField(blobStore, "meterRegistry", SimpleMeterRegistry())
+        ReflectionTestUtils.setField(blobStore, "rootPath", blobs.toString())
+        blobStore.init()
+
+        service = ProjectFileService()
+        ReflectionTestUtils.setField(service, "shards", shards)
+        ReflectionTestUtils.setField(service, "router", Mockito.mock(DatabaseRouter::class.java))
+        ReflectionTestUtils.setField(service, "projectService", projectService)
+        ReflectionTestUtils.setField(service, "blobStore", blobStore)
+    }
+
+    private fun hashes() = service.listFiles(ownerId, projectId).associate { it.path to it.hash }
+
+    @Test
+    fun `files still at their base are saved`() {
+        service.saveFiles(ownerId, projectId, mapOf("a.txt" to "a1".toByteArray()))
+
+        val (saved, conflicts) = service.saveFilesIfUnchanged(ownerId, projectId,
+                mapOf("a.txt" to "a2".toByteArray(), "b.txt" to "b1".toByteArray()),
+                mapOf("a.txt" to sha256Hex("a1".toByteArray()), "b.txt" to null))
+
+        assertEquals(listOf("a.txt", "b.txt"), saved.map { it.path })
+        assertEquals(emptyList<String>(), conflicts)
+        assertEquals(mapOf("a.txt" to sha256Hex("a2".toByteArray()), "b.txt" to sha256Hex("b1".toByteArray())), hashes())
+    }
+
+    @Test
+    fun `a file saved since its base is a conflict and left as it is`() {
+        service.saveFiles(ownerId, projectId, mapOf("a.txt" to "a1".toByteArray()))
+        service.saveFiles(ownerId, projectId, mapOf("a.txt" to "a2".toByteArray()))
+
+        val (saved, conflicts) = service.saveFilesIfUnchanged(ownerId, projectId,
+                mapOf("a.txt" to "a3".toByteArray(), "b.txt" to "b1".toByteArray()),
+                mapOf("a.txt" to sha256Hex("a1".toByteArray()), "b.txt" to null))
+
+        assertEquals(listOf("b.txt"), saved.map { it.path })
+        assertEquals(listOf("a.txt"), conflicts)
+        assertEquals(sha256Hex("a2".toByteArray()), hashes()["a.txt"])
+    }
+
+    @Test
+    fun `a new file that exists by now is a conflict`() {
+        service.saveFiles(ownerId, projectId, mapOf("a.txt" to "a1".toByteArray()))
+
+        val (saved, conflicts) = service.saveFilesIfUnchanged(ownerId, projectId, mapOf("/a.txt" to "a2".toByteArray()), mapOf("/a.txt" to null))
+
+        assertEquals(emptyList<Any>(), saved)
+        assertEquals(listOf("/a.txt"), conflicts)
+        assertEquals(sha256Hex("a1".toByteArray()), hashes()["a.txt"])
+    }
+
+    @Test
+    fun `a deleted file is a conflict`() {
+        val (_, conflicts) = service.saveFilesIfUnchanged(ownerId, projectId, mapOf("a.txt" to "a2".toByteArray()), mapOf("a.txt" to sha256Hex("a1".toByteArray())))
+
+        assertEquals(listOf("a.txt"), conflicts)
+        assertEquals(emptyMap<String, String>(), hashes())
+    }
+
+    @Test
+    fun `only one of several saves from the same base wins`() {
+        service.saveFiles(ownerId, projectId, mapOf("a.txt" to "a1".toByteArray()))
+        val base = sha256Hex("a1".toByteArray())
+        val executor = Executors.newFixedThreadPool(4)
+        try {
+            val winners = executor.invokeAll((0 until 4).map { i ->
+                Callable { service.saveFilesIfUnchanged(ownerId, projectId, mapOf("a.txt" to "a2-$i".toByteArray()), mapOf("a.txt" to base)).second.isEmpty() }
+            }).count { it.get() }
+            assertEquals(1, winners)
+        } finally {
+            executor.shutdown()
+        }
+    }
+}